@@ -0,0 +1,25 @@
+package com.devtiro.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Lets deployments that migrate in a separate step, and the CDS training run of the
+     * {@code fast-startup} build, start without a database. Checked at runtime, unlike
+     * {@code spring.flyway.enabled}, which Spring AOT already evaluated at build time.
+     */
+    @Bean
+    FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${task-tracker.migrations.run-on-startup:true}") boolean runOnStartup) {
+        return flyway -> {
+            if (runOnStartup) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.devtiro.config;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+
+@Configuration
+public class GraphQlConfig {
+
+    /**
+     * List fields fan out, so their selections are weighted by an assumed list size
+     * rather than counted once.
+     */
+    private static final Set<String> LIST_FIELDS = Set.of("taskLists", "tasks");
+    private static final int LIST_WEIGHT = 10;
+
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation(
+            @Value("${task-tracker.graphql.max-depth:5}") int maxDepth) {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    /**
+     * Rejects expensive queries before execution, based on a static analysis of the selection set.
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation(
+            @Value("${task-tracker.graphql.max-complexity:1000}") int maxComplexity) {
+        FieldComplexityCalculator calculator = (environment, childComplexity) ->
+                LIST_FIELDS.contains(environment.getField().getName())
+                        ? LIST_WEIGHT * (1 + childComplexity)
+                        : 1 + childComplexity;
+        return new MaxQueryComplexityInstrumentation(maxComplexity, calculator);
+    }
+}
@@ -0,0 +1,23 @@
+package com.devtiro.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+@Configuration
+public class LazyInitializationConfig {
+
+    /**
+     * Keeps migrations and the entity manager factory eager when lazy initialization is on,
+     * otherwise the first request would pay for schema validation and Hibernate bootstrap.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerPersistenceBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+                FlywayMigrationInitializer.class,
+                AbstractEntityManagerFactoryBean.class
+        );
+    }
+}
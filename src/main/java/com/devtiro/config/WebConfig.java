@@ -0,0 +1,59 @@
+package com.devtiro.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+
+@Configuration
+public class WebConfig {
+
+    /**
+     * Serves any endpoint as CBOR when the client sends {@code Accept: application/cbor}.
+     * Dates are written as numeric arrays rather than ISO strings to keep payloads small.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        ObjectMapper cborMapper = builder
+                .factory(new CBORFactory())
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        return new MappingJackson2CborHttpMessageConverter(cborMapper);
+    }
+
+    /**
+     * Buffers REST responses so they are sent with a {@code Content-Length}. Jackson streams without one,
+     * and Tomcat then gzips every response because it cannot compare it to
+     * {@code server.compression.min-response-size}. The bodies are whole lists or documents in memory
+     * anyway, so buffering costs one copy.
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> contentLengthFilter() {
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                ContentCachingResponseWrapper buffered = new ContentCachingResponseWrapper(response);
+                try {
+                    chain.doFilter(request, buffered);
+                } finally {
+                    buffered.copyBodyToResponse();
+                }
+            }
+        });
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,120 @@
+package com.devtiro.controllers;
+
+import com.devtiro.domain.dto.RecurringTaskTemplateDto;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.mapper.RecurringTaskTemplateMapper;
+import com.devtiro.services.IdempotencyService;
+import com.devtiro.services.RecurringTaskTemplateService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/task-lists/{task_list_id}/recurring-tasks")
+@Tag(name = "Recurring Tasks", description = "APIs for managing recurring task templates within a task list")
+public class RecurringTaskTemplateController {
+
+    private static final NotFoundException TEMPLATE_NOT_FOUND = new NotFoundException("Recurring task not found");
+
+    private final RecurringTaskTemplateService templateService;
+    private final RecurringTaskTemplateMapper templateMapper;
+    private final IdempotencyService idempotencyService;
+
+    public RecurringTaskTemplateController(RecurringTaskTemplateService templateService,
+                                           RecurringTaskTemplateMapper templateMapper,
+                                           IdempotencyService idempotencyService) {
+        this.templateService = templateService;
+        this.templateMapper = templateMapper;
+        this.idempotencyService = idempotencyService;
+    }
+
+    @GetMapping
+    @Operation(summary = "Get all recurring tasks in a task list", description = "Retrieves the recurring task templates of the specified task list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved recurring tasks",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RecurringTaskTemplateDto.class)))
+    })
+    public ResponseEntity<List<RecurringTaskTemplateDto>> getTemplates(@PathVariable("task_list_id") UUID taskListId) {
+        List<RecurringTaskTemplateDto> templates = templateService.listTemplates(taskListId)
+                .stream()
+                .map(templateMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(templates);
+    }
+
+    @PostMapping
+    @Operation(summary = "Create a recurring task",
+            description = "Creates a template that repeats DAILY, WEEKLY or MONTHLY every interval periods from startsAt. "
+                    + "Tasks are created ahead of time by a background job")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Recurring task created successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RecurringTaskTemplateDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Task list not found"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key was already used with a different request")
+    })
+    public ResponseEntity<RecurringTaskTemplateDto> createTemplate(
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Client generated key, retries with the same key return the original response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody RecurringTaskTemplateDto templateDto) {
+        RecurringTaskTemplateDto createdTemplate = idempotencyService.execute(
+                "recurring-tasks:" + taskListId,
+                idempotencyKey,
+                templateDto,
+                () -> templateMapper.toDto(templateService.createTemplate(taskListId, templateMapper.fromDto(templateDto)))
+        );
+        return ResponseEntity.status(201).body(createdTemplate);
+    }
+
+    @GetMapping("/{template_id}")
+    @Operation(summary = "Get a specific recurring task", description = "Retrieves a recurring task template and its next occurrence")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Recurring task found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = RecurringTaskTemplateDto.class))),
+            @ApiResponse(responseCode = "404", description = "Recurring task not found")
+    })
+    public ResponseEntity<RecurringTaskTemplateDto> getTemplate(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("template_id") UUID templateId) {
+        return templateService.getTemplate(taskListId, templateId)
+                .map(templateMapper::toDto)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> TEMPLATE_NOT_FOUND);
+    }
+
+    @DeleteMapping("/{template_id}")
+    @Operation(summary = "Delete a recurring task", description = "Stops the schedule, tasks already created from it are kept")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Recurring task deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Recurring task not found")
+    })
+    public ResponseEntity<Void> deleteTemplate(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("template_id") UUID templateId) {
+        if (!templateService.deleteTemplate(taskListId, templateId)) {
+            throw TEMPLATE_NOT_FOUND;
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
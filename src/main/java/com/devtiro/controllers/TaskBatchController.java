@@ -0,0 +1,60 @@
+package com.devtiro.controllers;
+
+import com.devtiro.domain.dto.TaskBatchItemDto;
+import com.devtiro.domain.dto.TaskBatchRequestDto;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.mapper.TaskMapper;
+import com.devtiro.services.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping(path = "/api/tasks")
+@Tag(name = "Task Batches", description = "APIs for reading tasks across task lists")
+public class TaskBatchController {
+
+    private final TaskService taskService;
+    private final TaskMapper taskMapper;
+
+    public TaskBatchController(TaskService taskService, TaskMapper taskMapper) {
+        this.taskService = taskService;
+        this.taskMapper = taskMapper;
+    }
+
+    @PostMapping(path = "/batch")
+    @Operation(summary = "Get many tasks by ID",
+            description = "Retrieves tasks from any task list in one call. Results follow the request order "
+                    + "and unknown IDs are returned with found=false")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskBatchItemDto.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    public ResponseEntity<List<TaskBatchItemDto>> getTasks(@RequestBody TaskBatchRequestDto request) {
+        List<UUID> ids = Optional.ofNullable(request.ids()).orElse(List.of());
+        Map<UUID, Task> tasks = taskService.getTasks(ids);
+
+        List<TaskBatchItemDto> items = ids.stream()
+                .map(id -> Optional.ofNullable(tasks.get(id))
+                        .map(task -> new TaskBatchItemDto(id, true, task.getTaskList().getId(), taskMapper.toDto(task)))
+                        .orElseGet(() -> new TaskBatchItemDto(id, false, null, null)))
+                .toList();
+
+        return ResponseEntity.ok(items);
+    }
+}
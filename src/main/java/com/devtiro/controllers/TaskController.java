@@ -1,14 +1,26 @@
 package com.devtiro.controllers;
 
+import com.devtiro.domain.dto.DeleteResultDto;
+import com.devtiro.domain.dto.FieldSelection;
+import com.devtiro.domain.dto.HistoryEntryDto;
 import com.devtiro.domain.dto.TaskDto;
+import com.devtiro.domain.dto.TaskField;
+import com.devtiro.domain.dto.TaskMoveDto;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.mapper.HistoryEntryMapper;
 import com.devtiro.mapper.TaskMapper;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.IdempotencyService;
 import com.devtiro.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,10 +28,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -28,12 +44,22 @@ import java.util.UUID;
 @Tag(name = "Tasks", description = "APIs for managing tasks within a task list")
 public class TaskController {
 
+    private static final NotFoundException TASK_NOT_FOUND = new NotFoundException("Task not found");
+    private static final NotFoundException TASK_DID_NOT_EXIST = new NotFoundException("Task did not exist at that time");
+
     private final TaskService taskService;
     private final TaskMapper taskMapper;
+    private final IdempotencyService idempotencyService;
+    private final HistoryService historyService;
+    private final HistoryEntryMapper historyEntryMapper;
 
-    public TaskController(TaskService taskService, TaskMapper taskMapper) {
+    public TaskController(TaskService taskService, TaskMapper taskMapper, IdempotencyService idempotencyService,
+                          HistoryService historyService, HistoryEntryMapper historyEntryMapper) {
         this.taskService = taskService;
         this.taskMapper = taskMapper;
+        this.idempotencyService = idempotencyService;
+        this.historyService = historyService;
+        this.historyEntryMapper = historyEntryMapper;
     }
 
     @GetMapping
@@ -43,8 +69,11 @@ public class TaskController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskDto.class)))
     })
-    public ResponseEntity<List<TaskDto>> getTasks(@PathVariable("task_list_id") UUID taskListId) {
-        List<TaskDto> tasks = taskService.listTasks(taskListId)
+    public ResponseEntity<List<TaskDto>> getTasks(
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Also return closed tasks that were moved to the archive")
+            @RequestParam(name = "includeArchived", defaultValue = "false") boolean includeArchived) {
+        List<TaskDto> tasks = taskService.listTasks(taskListId, includeArchived)
                 .stream()
                 .map(taskMapper::toDto)
                 .toList();
@@ -52,19 +81,40 @@ public class TaskController {
         return ResponseEntity.ok(tasks);
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Get selected fields of all tasks in a task list",
+            description = "Retrieves only the requested fields, e.g. fields=title,status. The id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    })
+    public ResponseEntity<List<Map<String, Object>>> getTaskFields(
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Comma separated task fields to return")
+            @RequestParam("fields") String fields) {
+        return ResponseEntity.ok(taskService.listTaskFields(taskListId, FieldSelection.parse(TaskField.class, fields)));
+    }
+
     @PostMapping
     @Operation(summary = "Create a new task", description = "Creates a new task in the specified task list")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task created successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "404", description = "Task list not found"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key was already used with a different request")
     })
     public ResponseEntity<TaskDto> createTask(
             @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Client generated key, retries with the same key return the original response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @RequestBody TaskDto taskDto) {
-        TaskDto createdTask = taskMapper.toDto(
-                taskService.createTask(taskListId, taskMapper.fromDto(taskDto))
+        TaskDto createdTask = idempotencyService.execute(
+                "tasks:" + taskListId,
+                idempotencyKey,
+                taskDto,
+                () -> taskMapper.toDto(taskService.createTask(taskListId, taskMapper.fromDto(taskDto)))
         );
         return ResponseEntity.status(201).body(createdTask);
     }
@@ -85,12 +135,69 @@ public class TaskController {
 //    }
     public ResponseEntity<TaskDto> getTask(
             @PathVariable("task_list_id") UUID taskListId,
-            @PathVariable("task_id") UUID taskId) {
+            @PathVariable("task_id") UUID taskId,
+            @Parameter(description = "Also look for the task in the archive")
+            @RequestParam(name = "includeArchived", defaultValue = "false") boolean includeArchived) {
 
-        return taskService.getTask(taskListId, taskId)
+        return taskService.getTask(taskListId, taskId, includeArchived)
                 .map(taskMapper::toDto)
                 .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+                .orElseThrow(() -> TASK_NOT_FOUND);
+    }
+
+    @GetMapping(path = "/{task_id}", params = "fields")
+    @Operation(summary = "Get selected fields of a specific task",
+            description = "Retrieves only the requested fields of a task, e.g. fields=title,status. The id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    public ResponseEntity<Map<String, Object>> getTaskFields(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @Parameter(description = "Comma separated task fields to return")
+            @RequestParam("fields") String fields) {
+        return taskService.getTaskFields(taskListId, taskId, FieldSelection.parse(TaskField.class, fields))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> TASK_NOT_FOUND);
+    }
+
+    @GetMapping(path = "/{task_id}", params = "asOf")
+    @Operation(summary = "Get a task as it was at a point in time", description = "Rebuilds the task from the change history")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task existed at that time",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDto.class))),
+            @ApiResponse(responseCode = "404", description = "Task did not exist at that time")
+    })
+    public ResponseEntity<TaskDto> getTaskAsOf(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @Parameter(description = "Point in time, e.g. 2026-01-31T12:00:00")
+            @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return historyService.getTaskAsOf(taskListId, taskId, asOf)
+                .map(taskMapper::toDto)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> TASK_DID_NOT_EXIST);
+    }
+
+    @GetMapping("/{task_id}/history")
+    @Operation(summary = "Get the change history of a task", description = "Revisions of the task with their changed fields, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved history",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HistoryEntryDto.class)))
+    })
+    public ResponseEntity<List<HistoryEntryDto>> getTaskHistory(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId) {
+        List<HistoryEntryDto> history = historyService.getTaskHistory(taskListId, taskId)
+                .stream()
+                .map(historyEntryMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(history);
     }
 
     @PutMapping("/{task_id}")
@@ -112,6 +219,21 @@ public class TaskController {
         return ResponseEntity.ok(updatedTask);
     }
 
+    @PutMapping("/{task_id}/position")
+    @Operation(summary = "Move a task", description = "Places the task directly after or before another task of the same list")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Task moved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or unknown anchor task"),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    public ResponseEntity<Void> moveTask(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @RequestBody TaskMoveDto taskMoveDto) {
+        taskService.moveTask(taskListId, taskId, taskMoveDto.afterTaskId(), taskMoveDto.beforeTaskId());
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{task_id}")
     @Operation(summary = "Delete a specific task", description = "Deletes a specific task from the task list")
     @ApiResponses(value = {
@@ -121,8 +243,40 @@ public class TaskController {
     public ResponseEntity<Void> deleteTask(
             @PathVariable("task_list_id") UUID taskListId,
             @PathVariable("task_id") UUID taskId) {
-        taskService.deleteTask(taskListId, taskId);
+        if (!taskService.deleteTask(taskListId, taskId)) {
+            throw TASK_NOT_FOUND;
+        }
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping(params = "ids")
+    @Operation(summary = "Delete several tasks",
+            description = "Deletes the given tasks from the task list, at most task-tracker.batch-get.max-ids per request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DeleteResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Too many IDs passed")
+    })
+    public ResponseEntity<DeleteResultDto> deleteTasks(
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Comma separated IDs of the tasks to delete")
+            @RequestParam("ids") List<UUID> taskIds) {
+        return ResponseEntity.ok(new DeleteResultDto(taskService.deleteTasks(taskListId, taskIds)));
+    }
+
+    @DeleteMapping(params = "status")
+    @Operation(summary = "Delete tasks by status", description = "Deletes every task with the given status, e.g. status=CLOSED")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks deleted",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DeleteResultDto.class)))
+    })
+    public ResponseEntity<DeleteResultDto> deleteTasksByStatus(
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Status of the tasks to delete")
+            @RequestParam("status") TaskStatus status) {
+        return ResponseEntity.ok(new DeleteResultDto(taskService.deleteTasksByStatus(taskListId, status)));
+    }
+
 }
@@ -0,0 +1,134 @@
+package com.devtiro.controllers;
+
+import com.devtiro.domain.dto.BlockerDto;
+import com.devtiro.domain.dto.TaskDependencyDto;
+import com.devtiro.domain.dto.TaskDto;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.mapper.TaskMapper;
+import com.devtiro.services.TaskDependencyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/task-lists/{task_list_id}")
+@Tag(name = "Task Dependencies", description = "APIs for tasks that block other tasks")
+public class TaskDependencyController {
+
+    private static final NotFoundException DEPENDENCY_NOT_FOUND = new NotFoundException("Dependency not found");
+
+    private final TaskDependencyService taskDependencyService;
+    private final TaskMapper taskMapper;
+
+    public TaskDependencyController(TaskDependencyService taskDependencyService, TaskMapper taskMapper) {
+        this.taskDependencyService = taskDependencyService;
+        this.taskMapper = taskMapper;
+    }
+
+    @PostMapping("/tasks/{task_id}/blockers")
+    @Operation(summary = "Add a blocker to a task",
+            description = "The blocker can be a task of any list. Dependencies that would form a cycle are rejected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Dependency added",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDependencyDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input data or unknown blocker"),
+            @ApiResponse(responseCode = "404", description = "Task not found"),
+            @ApiResponse(responseCode = "409", description = "The dependency would create a cycle")
+    })
+    public ResponseEntity<TaskDependencyDto> addBlocker(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @RequestBody TaskDependencyDto dependencyDto) {
+        taskDependencyService.addBlocker(taskListId, taskId, dependencyDto.blockerId());
+        return ResponseEntity.status(201).body(new TaskDependencyDto(dependencyDto.blockerId(), taskId));
+    }
+
+    @DeleteMapping("/tasks/{task_id}/blockers/{blocker_id}")
+    @Operation(summary = "Remove a blocker from a task", description = "Deletes the dependency between the two tasks")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Dependency removed"),
+            @ApiResponse(responseCode = "404", description = "Dependency not found")
+    })
+    public ResponseEntity<Void> removeBlocker(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @PathVariable("blocker_id") UUID blockerId) {
+        if (!taskDependencyService.removeBlocker(taskListId, taskId, blockerId)) {
+            throw DEPENDENCY_NOT_FOUND;
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/tasks/{task_id}/blockers")
+    @Operation(summary = "Get the open blockers of a task",
+            description = "Open tasks that block this task, and by default everything that transitively blocks them")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved blockers",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BlockerDto.class))),
+            @ApiResponse(responseCode = "404", description = "Task not found")
+    })
+    public ResponseEntity<List<BlockerDto>> getBlockers(
+            @PathVariable("task_list_id") UUID taskListId,
+            @PathVariable("task_id") UUID taskId,
+            @Parameter(description = "Also return blockers of blockers")
+            @RequestParam(name = "transitive", defaultValue = "true") boolean transitive) {
+        List<BlockerDto> blockers = taskDependencyService.getBlockers(taskListId, taskId, transitive)
+                .stream()
+                .map(task -> new BlockerDto(task.getTaskListId(), taskMapper.toDto(task)))
+                .toList();
+
+        return ResponseEntity.ok(blockers);
+    }
+
+    @GetMapping("/tasks/unblocked")
+    @Operation(summary = "Get tasks that can be worked on",
+            description = "Open tasks of the list whose blockers are all closed or deleted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved tasks",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDto.class)))
+    })
+    public ResponseEntity<List<TaskDto>> getUnblockedTasks(@PathVariable("task_list_id") UUID taskListId) {
+        List<TaskDto> tasks = taskDependencyService.listUnblockedTasks(taskListId)
+                .stream()
+                .map(taskMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(tasks);
+    }
+
+    @GetMapping("/critical-path")
+    @Operation(summary = "Get the critical path of a task list",
+            description = "Longest chain of open tasks in the list that block each other, in the order they have to be done")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved the critical path",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskDto.class)))
+    })
+    public ResponseEntity<List<TaskDto>> getCriticalPath(@PathVariable("task_list_id") UUID taskListId) {
+        List<TaskDto> tasks = taskDependencyService.getCriticalPath(taskListId)
+                .stream()
+                .map(taskMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(tasks);
+    }
+}
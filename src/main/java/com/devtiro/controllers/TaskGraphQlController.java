@@ -0,0 +1,83 @@
+package com.devtiro.controllers;
+
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.repositories.TaskListStats;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.TaskListService;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * GraphQL read API. Nested fields of {@code TaskList} are resolved through DataLoaders, so each
+ * level costs one {@code IN (...)} query no matter how many lists were selected. Loaders are
+ * keyed by list id because {@link TaskList#equals} and {@link TaskList#hashCode} cover all its
+ * mutable fields.
+ */
+@Controller
+public class TaskGraphQlController {
+
+    private final TaskListService taskListService;
+    private final TaskRepository taskRepository;
+
+    public TaskGraphQlController(TaskListService taskListService, TaskRepository taskRepository,
+                                 BatchLoaderRegistry batchLoaderRegistry) {
+        this.taskListService = taskListService;
+        this.taskRepository = taskRepository;
+
+        // count and progress share one DataLoader, so selecting both still issues a single query
+        batchLoaderRegistry.forTypePair(UUID.class, TaskListStats.class)
+                .registerMappedBatchLoader((taskListIds, environment) -> Mono.fromCallable(() ->
+                        taskRepository.findStatsByTaskListIdIn(taskListIds)
+                                .stream()
+                                .collect(Collectors.toMap(TaskListStats::getTaskListId, Function.identity()))));
+    }
+
+    @QueryMapping
+    public List<TaskList> taskLists() {
+        return taskListService.listTaskLists();
+    }
+
+    @QueryMapping
+    public Optional<TaskList> taskList(@Argument UUID id) {
+        return taskListService.getTaskList(id);
+    }
+
+    @BatchMapping(typeName = "TaskList", field = "tasks")
+    public List<List<Task>> tasks(List<TaskList> taskLists) {
+        List<UUID> taskListIds = taskLists.stream().map(TaskList::getId).toList();
+        Map<UUID, List<Task>> tasksByList = taskRepository.findByTaskListIdIn(taskListIds)
+                .stream()
+                .collect(Collectors.groupingBy(task -> task.getTaskList().getId()));
+
+        return taskLists.stream()
+                .map(taskList -> tasksByList.getOrDefault(taskList.getId(), List.of()))
+                .toList();
+    }
+
+    @SchemaMapping(typeName = "TaskList", field = "count")
+    public CompletableFuture<Integer> count(TaskList taskList, DataLoader<UUID, TaskListStats> statsLoader) {
+        return statsLoader.load(taskList.getId())
+                .thenApply(stats -> null == stats ? 0 : (int) stats.getTaskCount());
+    }
+
+    @SchemaMapping(typeName = "TaskList", field = "progress")
+    public CompletableFuture<Double> progress(TaskList taskList, DataLoader<UUID, TaskListStats> statsLoader) {
+        return statsLoader.load(taskList.getId())
+                .thenApply(stats -> null == stats ? null : (double) stats.getClosedCount() / stats.getTaskCount());
+    }
+}
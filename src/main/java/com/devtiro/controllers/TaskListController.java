@@ -1,8 +1,15 @@
 package com.devtiro.controllers;
 
+import com.devtiro.domain.dto.FieldSelection;
+import com.devtiro.domain.dto.HistoryEntryDto;
 import com.devtiro.domain.dto.TaskListDto;
+import com.devtiro.domain.dto.TaskListField;
 import com.devtiro.domain.entities.TaskList;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.mapper.HistoryEntryMapper;
 import com.devtiro.mapper.TaskListMapper;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.IdempotencyService;
 import com.devtiro.services.TaskListService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,11 +18,14 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -23,12 +33,23 @@ import java.util.UUID;
 @Tag(name = "Task Lists", description = "APIs for managing task lists")
 public class TaskListController {
 
+    private static final NotFoundException TASK_LIST_NOT_FOUND = new NotFoundException("Task list not found");
+    private static final NotFoundException TASK_LIST_DID_NOT_EXIST = new NotFoundException("Task list did not exist at that time");
+
     private final TaskListService taskListService;
     private final TaskListMapper taskListMapper;
+    private final IdempotencyService idempotencyService;
+    private final HistoryService historyService;
+    private final HistoryEntryMapper historyEntryMapper;
 
-    public TaskListController(TaskListService taskListService, TaskListMapper taskListMapper) {
+    public TaskListController(TaskListService taskListService, TaskListMapper taskListMapper,
+                              IdempotencyService idempotencyService, HistoryService historyService,
+                              HistoryEntryMapper historyEntryMapper) {
         this.taskListService = taskListService;
         this.taskListMapper = taskListMapper;
+        this.idempotencyService = idempotencyService;
+        this.historyService = historyService;
+        this.historyEntryMapper = historyEntryMapper;
     }
 
     @GetMapping
@@ -47,20 +68,43 @@ public class TaskListController {
         return ResponseEntity.ok(taskLists);
     }
 
+    @GetMapping(params = "fields")
+    @Operation(summary = "Get selected fields of all task lists",
+            description = "Retrieves only the requested fields, e.g. fields=title,progress. The id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved task lists"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    })
+    public ResponseEntity<List<Map<String, Object>>> listTaskListFields(
+            @Parameter(description = "Comma separated task list fields to return")
+            @RequestParam("fields") String fields) {
+        return ResponseEntity.ok(taskListService.listTaskListFields(FieldSelection.parse(TaskListField.class, fields)));
+    }
+
     @PostMapping
     @Operation(summary = "Create a new task list", description = "Creates a new task list with the provided details")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Task list created successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskListDto.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid input data")
+            @ApiResponse(responseCode = "400", description = "Invalid input data"),
+            @ApiResponse(responseCode = "409", description = "Idempotency-Key was already used with a different request")
     })
-    public ResponseEntity<TaskListDto> createTaskList(@RequestBody TaskListDto taskListDto) {
-        TaskList createdTaskList = taskListService.createTaskLists(
-                taskListMapper.fromDto(taskListDto)
+    public ResponseEntity<TaskListDto> createTaskList(
+            @Parameter(description = "Client generated key, retries with the same key return the original response")
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody TaskListDto taskListDto) {
+        TaskListDto createdTaskList = idempotencyService.execute(
+                "task-lists",
+                idempotencyKey,
+                taskListDto,
+                () -> {
+                    TaskList taskList = taskListService.createTaskLists(taskListMapper.fromDto(taskListDto));
+                    return taskListMapper.toDto(taskList);
+                }
         );
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(taskListMapper.toDto(createdTaskList));
+        return ResponseEntity.status(HttpStatus.CREATED).body(createdTaskList);
     }
 
     @GetMapping(path = "/{task_list_id}")
@@ -81,7 +125,67 @@ public class TaskListController {
         return taskListService.getTaskList(taskListId)
                 .map(taskListMapper::toDto)
                 .map(ResponseEntity::ok)
-                .orElseGet(() -> ResponseEntity.notFound().build());
+                .orElseThrow(() -> TASK_LIST_NOT_FOUND);
+    }
+
+    @GetMapping(path = "/{task_list_id}", params = "fields")
+    @Operation(summary = "Get selected fields of a task list",
+            description = "Retrieves only the requested fields of a task list, e.g. fields=title,progress. The id is always included")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task list found"),
+            @ApiResponse(responseCode = "400", description = "Unknown field requested"),
+            @ApiResponse(responseCode = "404", description = "Task list not found")
+    })
+    public ResponseEntity<Map<String, Object>> getTaskListFields(
+            @Parameter(description = "ID of the task list to retrieve")
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Comma separated task list fields to return")
+            @RequestParam("fields") String fields) {
+        return taskListService.getTaskListFields(taskListId, FieldSelection.parse(TaskListField.class, fields))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> TASK_LIST_NOT_FOUND);
+    }
+
+    @GetMapping(path = "/{task_list_id}", params = "asOf")
+    @Operation(summary = "Get a task list as it was at a point in time",
+            description = "Rebuilds title and description from the change history. Count and progress are not part of the history")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task list existed at that time",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskListDto.class))),
+            @ApiResponse(responseCode = "404", description = "Task list did not exist at that time")
+    })
+    public ResponseEntity<TaskListDto> getTaskListAsOf(
+            @Parameter(description = "ID of the task list to retrieve")
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Point in time, e.g. 2026-01-31T12:00:00")
+            @RequestParam("asOf") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        return historyService.getTaskListAsOf(taskListId, asOf)
+                .map(taskList -> new TaskListDto(taskList.getId(), taskList.getTitle(), taskList.getDescription(),
+                        null, null, null))
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> TASK_LIST_DID_NOT_EXIST);
+    }
+
+    @GetMapping(path = "/{task_list_id}/history")
+    @Operation(summary = "Get the change history of a task list",
+            description = "Revisions of the task list and all of its tasks with their changed fields, oldest first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved history",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HistoryEntryDto.class)))
+    })
+    public ResponseEntity<List<HistoryEntryDto>> getTaskListHistory(
+            @Parameter(description = "ID of the task list")
+            @PathVariable("task_list_id") UUID taskListId,
+            @Parameter(description = "Only changes at or after this time, pass the last changedAt to page")
+            @RequestParam(name = "since", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        List<HistoryEntryDto> history = historyService.getTaskListHistory(taskListId, since)
+                .stream()
+                .map(historyEntryMapper::toDto)
+                .toList();
+
+        return ResponseEntity.ok(history);
     }
 
     @PutMapping(path = "/{task_list_id}")
@@ -114,7 +218,9 @@ public class TaskListController {
     public ResponseEntity<Void> deleteTaskList(
             @Parameter(description = "ID of the task list to delete")
             @PathVariable("task_list_id") UUID taskListId) {
-        taskListService.deleteTaskList(taskListId);
+        if (!taskListService.deleteTaskList(taskListId)) {
+            throw TASK_LIST_NOT_FOUND;
+        }
 //        return ResponseEntity.noContent().build();
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
@@ -0,0 +1,312 @@
+package com.devtiro.dependencies;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Directed acyclic graph that keeps a topological order of its nodes up to date as edges are added,
+ * using the Pearce-Kelly algorithm. Adding an edge that already agrees with the order is O(1); otherwise
+ * only the nodes whose position lies between the two endpoints are searched and reordered, so an insert
+ * never walks the whole graph. An edge that would close a cycle is rejected. Reads share a lock, writes
+ * are exclusive.
+ */
+public class DependencyGraph<K> {
+
+    public record Edge<K>(K from, K to) {
+    }
+
+    private final Map<K, Integer> indexes = new HashMap<>();
+    private final List<K> keys = new ArrayList<>();
+    private final List<Set<Integer>> successors = new ArrayList<>();
+    private final List<Set<Integer>> predecessors = new ArrayList<>();
+    private final List<Integer> order = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private int edgeCount;
+    private int firstPosition;
+    private int lastPosition = -1;
+
+    /**
+     * Builds a graph from existing edges. Nodes are registered in an order found by Kahn's algorithm, so
+     * every acyclic edge is added without reordering. Edges that close a cycle are skipped and added to
+     * {@code rejected}.
+     */
+    public static <K> DependencyGraph<K> of(Collection<Edge<K>> edges, Collection<Edge<K>> rejected) {
+        Map<K, List<K>> outgoing = new HashMap<>();
+        Map<K, Integer> inDegree = new HashMap<>();
+        for (Edge<K> edge : edges) {
+            outgoing.computeIfAbsent(edge.from(), key -> new ArrayList<>()).add(edge.to());
+            inDegree.putIfAbsent(edge.from(), 0);
+            inDegree.merge(edge.to(), 1, Integer::sum);
+        }
+
+        Set<K> sorted = new LinkedHashSet<>();
+        Deque<K> ready = new ArrayDeque<>();
+        inDegree.forEach((key, degree) -> {
+            if (degree == 0) {
+                ready.add(key);
+            }
+        });
+        while (!ready.isEmpty()) {
+            K key = ready.poll();
+            sorted.add(key);
+            for (K next : outgoing.getOrDefault(key, List.of())) {
+                if (inDegree.merge(next, -1, Integer::sum) == 0) {
+                    ready.add(next);
+                }
+            }
+        }
+        // Nodes left over sit on a cycle, their edges are sorted out by addEdge below
+        sorted.addAll(inDegree.keySet());
+
+        DependencyGraph<K> graph = new DependencyGraph<>();
+        sorted.forEach(key -> graph.indexOf(key, false));
+        for (Edge<K> edge : edges) {
+            if (!graph.addEdge(edge.from(), edge.to())) {
+                rejected.add(edge);
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Adds {@code from -> to}. Returns {@code false} and leaves the graph unchanged if the edge would
+     * create a cycle, {@code true} if it was added or already present.
+     */
+    public boolean addEdge(K from, K to) {
+        if (from.equals(to)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            // New nodes have no edges yet, a new source can go first and a new target last
+            int source = indexOf(from, true);
+            int target = indexOf(to, false);
+            if (successors.get(source).contains(target)) {
+                return true;
+            }
+
+            int lowerBound = order.get(target);
+            int upperBound = order.get(source);
+            if (lowerBound < upperBound) {
+                // target is currently ordered before source, the region in between has to be reordered
+                List<Integer> forward = new ArrayList<>();
+                if (!search(target, upperBound, source, forward, true)) {
+                    return false;
+                }
+                List<Integer> backward = new ArrayList<>();
+                search(source, lowerBound, -1, backward, false);
+                reorder(backward, forward);
+            }
+
+            successors.get(source).add(target);
+            predecessors.get(target).add(source);
+            edgeCount++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removing an edge never invalidates the topological order, so no reordering is needed.
+     */
+    public boolean removeEdge(K from, K to) {
+        lock.writeLock().lock();
+        try {
+            Integer source = indexes.get(from);
+            Integer target = indexes.get(to);
+            if (null == source || null == target || !successors.get(source).remove(target)) {
+                return false;
+            }
+            predecessors.get(target).remove(source);
+            edgeCount--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes {@code key} with all its edges. Like removing an edge this keeps the order valid, the
+     * node's slot is only reclaimed when the graph is rebuilt.
+     */
+    public boolean removeNode(K key) {
+        lock.writeLock().lock();
+        try {
+            Integer index = indexes.remove(key);
+            if (null == index) {
+                return false;
+            }
+            successors.get(index).forEach(successor -> predecessors.get(successor).remove(index));
+            predecessors.get(index).forEach(predecessor -> successors.get(predecessor).remove(index));
+            edgeCount -= successors.get(index).size() + predecessors.get(index).size();
+            successors.get(index).clear();
+            predecessors.get(index).clear();
+            keys.set(index, null);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsEdge(K from, K to) {
+        lock.readLock().lock();
+        try {
+            Integer source = indexes.get(from);
+            Integer target = indexes.get(to);
+            return null != source && null != target && successors.get(source).contains(target);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Set<K> predecessors(K key) {
+        return neighbours(key, predecessors);
+    }
+
+    public Set<K> successors(K key) {
+        return neighbours(key, successors);
+    }
+
+    /**
+     * Longest chain of edges that stays within {@code nodes}, in dependency order. Nodes are visited in
+     * topological order, so this is a single pass over the given nodes and their incoming edges.
+     */
+    public List<K> longestPath(Collection<K> nodes) {
+        lock.readLock().lock();
+        try {
+            Map<Integer, Integer> length = new HashMap<>();
+            Map<Integer, Integer> previous = new HashMap<>();
+            List<Integer> members = new ArrayList<>();
+            for (K key : nodes) {
+                Integer index = indexes.get(key);
+                if (null != index && length.putIfAbsent(index, 1) == null) {
+                    members.add(index);
+                }
+            }
+            members.sort(Comparator.comparing(order::get));
+
+            int end = -1;
+            for (int node : members) {
+                for (int predecessor : predecessors.get(node)) {
+                    Integer predecessorLength = length.get(predecessor);
+                    if (null != predecessorLength && predecessorLength + 1 > length.get(node)) {
+                        length.put(node, predecessorLength + 1);
+                        previous.put(node, predecessor);
+                    }
+                }
+                if (end < 0 || length.get(node) > length.get(end)) {
+                    end = node;
+                }
+            }
+
+            List<K> path = new ArrayList<>();
+            for (Integer node = end < 0 ? null : end; null != node; node = previous.get(node)) {
+                path.add(keys.get(node));
+            }
+            return path.reversed();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int edgeCount() {
+        lock.readLock().lock();
+        try {
+            return edgeCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Set<K> neighbours(K key, List<Set<Integer>> adjacency) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexes.get(key);
+            if (null == index) {
+                return Set.of();
+            }
+            Set<K> result = new HashSet<>();
+            adjacency.get(index).forEach(neighbour -> result.add(keys.get(neighbour)));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int indexOf(K key, boolean first) {
+        Integer index = indexes.get(key);
+        if (null != index) {
+            return index;
+        }
+        int newIndex = keys.size();
+        indexes.put(key, newIndex);
+        keys.add(key);
+        successors.add(new HashSet<>());
+        predecessors.add(new HashSet<>());
+        order.add(first ? --firstPosition : ++lastPosition);
+        return newIndex;
+    }
+
+    /**
+     * Iterative depth first search from {@code start} that only enters nodes positioned before
+     * {@code bound} (forward) or after it (backward). Returns {@code false} as soon as {@code cycleNode}
+     * is reached.
+     */
+    private boolean search(int start, int bound, int cycleNode, List<Integer> visited, boolean forward) {
+        List<Set<Integer>> adjacency = forward ? successors : predecessors;
+        BitSet seen = new BitSet(keys.size());
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        seen.set(start);
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            visited.add(node);
+            for (int next : adjacency.get(node)) {
+                if (next == cycleNode) {
+                    return false;
+                }
+                int position = order.get(next);
+                boolean inRegion = forward ? position < bound : position > bound;
+                if (inRegion && !seen.get(next)) {
+                    seen.set(next);
+                    stack.push(next);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives the nodes reaching the new edge's source the lowest of the affected positions, followed by
+     * the nodes reachable from its target, each group keeping its relative order.
+     */
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        Comparator<Integer> byPosition = Comparator.comparing(order::get);
+        backward.sort(byPosition);
+        forward.sort(byPosition);
+
+        List<Integer> nodes = new ArrayList<>(backward.size() + forward.size());
+        nodes.addAll(backward);
+        nodes.addAll(forward);
+        List<Integer> positions = new ArrayList<>(nodes.size());
+        nodes.forEach(node -> positions.add(order.get(node)));
+        positions.sort(Comparator.naturalOrder());
+
+        for (int i = 0; i < nodes.size(); i++) {
+            order.set(nodes.get(i), positions.get(i));
+        }
+    }
+}
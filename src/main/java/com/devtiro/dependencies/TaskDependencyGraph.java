@@ -0,0 +1,210 @@
+package com.devtiro.dependencies;
+
+import com.devtiro.domain.entities.JobLease;
+import com.devtiro.domain.entities.TaskDependency;
+import com.devtiro.repositories.JobLeaseRepository;
+import com.devtiro.repositories.TaskDependencyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of all task dependencies, blocker to blocked. Edges are added to the graph before
+ * their row commits, so concurrent inserts are checked against each other, and taken out again if the
+ * transaction rolls back. Transactions adding the same edge concurrently share it, it is only taken out
+ * when the last of them rolls back and none committed. Removals apply after commit.
+ * <p>
+ * The graph is only this instance's view. Every write first takes {@link #lockForWrite}, the
+ * {@code task-dependencies} row of {@code job_leases}, which serializes writes across instances and stamps
+ * the row with a new version. The graph is rebuilt from the table on startup and whenever a poll every
+ * {@code task-tracker.dependencies.poll-interval} finds a version this instance has not loaded.
+ */
+@Component
+@Lazy(false)
+public class TaskDependencyGraph {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskDependencyGraph.class);
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final String WRITE_LOCK = "task-dependencies";
+
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final JobLeaseRepository jobLeaseRepository;
+    // Number of open transactions that added each edge not committed yet
+    private final Map<DependencyGraph.Edge<UUID>, Integer> uncommitted = new ConcurrentHashMap<>();
+    private volatile DependencyGraph<UUID> graph = new DependencyGraph<>();
+    private volatile LocalDateTime loadedVersion;
+
+    public TaskDependencyGraph(TaskDependencyRepository taskDependencyRepository,
+                               JobLeaseRepository jobLeaseRepository) {
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.jobLeaseRepository = jobLeaseRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    /**
+     * Reloads the graph if another instance changed dependencies since the last load.
+     */
+    @Scheduled(initialDelayString = "${task-tracker.dependencies.poll-interval:5s}",
+            fixedDelayString = "${task-tracker.dependencies.poll-interval:5s}")
+    public void pollChanges() {
+        if (!Objects.equals(jobLeaseRepository.findCheckpoint(WRITE_LOCK).orElse(null), loadedVersion)) {
+            reload();
+        }
+    }
+
+    public void reload() {
+        // Read first, a write committing during the load leaves a newer version for the next poll
+        LocalDateTime version = jobLeaseRepository.findCheckpoint(WRITE_LOCK).orElse(null);
+        List<DependencyGraph.Edge<UUID>> edges = new ArrayList<>();
+        UUID afterId = MIN_UUID;
+        List<TaskDependency> page;
+        do {
+            page = taskDependencyRepository.findAfter(afterId, Limit.of(LOAD_PAGE_SIZE));
+            page.forEach(dependency -> edges.add(new DependencyGraph.Edge<>(dependency.getBlockerId(), dependency.getBlockedId())));
+            if (!page.isEmpty()) {
+                afterId = page.getLast().getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+
+        List<DependencyGraph.Edge<UUID>> rejected = new ArrayList<>();
+        DependencyGraph<UUID> loaded = DependencyGraph.of(edges, rejected);
+        // Edges still in flight were not visible to the read above
+        uncommitted.keySet().forEach(edge -> loaded.addEdge(edge.from(), edge.to()));
+        graph = loaded;
+        loadedVersion = version;
+
+        if (!rejected.isEmpty()) {
+            log.warn("Ignoring {} task dependencies that close a cycle: {}", rejected.size(), rejected);
+        }
+    }
+
+    /**
+     * Locks dependency writes of all instances until the current transaction ends and stamps a new
+     * version. A cycle check made after this sees every committed edge. If this instance had loaded the
+     * previous version, its graph is current again once the transaction's own changes apply on commit.
+     */
+    public void lockForWrite() {
+        JobLease lock = jobLeaseRepository.lockByName(WRITE_LOCK)
+                .orElseThrow(() -> new IllegalStateException("Missing job_leases row " + WRITE_LOCK));
+        LocalDateTime previous = lock.getCheckpoint();
+        LocalDateTime version = LocalDateTime.now();
+        lock.setCheckpoint(version);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (Objects.equals(loadedVersion, previous)) {
+                    loadedVersion = version;
+                }
+            }
+        });
+    }
+
+    /**
+     * Adds the edge for the current transaction. Returns {@code false} if it would create a cycle.
+     */
+    public boolean add(UUID blockerId, UUID blockedId) {
+        DependencyGraph.Edge<UUID> edge = new DependencyGraph.Edge<>(blockerId, blockedId);
+        DependencyGraph<UUID> current = graph;
+        boolean[] cycle = new boolean[1];
+        Integer owners = uncommitted.compute(edge, (key, count) -> {
+            if (null != count) {
+                return count + 1;
+            }
+            if (current.containsEdge(blockerId, blockedId)) {
+                // Committed before, a rollback of this transaction must not take it out
+                return null;
+            }
+            if (!current.addEdge(blockerId, blockedId)) {
+                cycle[0] = true;
+                return null;
+            }
+            return 1;
+        });
+        if (cycle[0]) {
+            return false;
+        }
+        if (null == owners) {
+            return true;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                uncommitted.computeIfPresent(edge, (key, count) -> {
+                    if (STATUS_COMMITTED == status) {
+                        return null;
+                    }
+                    if (count > 1) {
+                        return count - 1;
+                    }
+                    graph.removeEdge(blockerId, blockedId);
+                    return null;
+                });
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Removes the edge once the current transaction commits.
+     */
+    public void remove(UUID blockerId, UUID blockedId) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                graph.removeEdge(blockerId, blockedId);
+            }
+        });
+    }
+
+    /**
+     * Takes the tasks and all their edges out of the graph once the current transaction commits.
+     */
+    public void removeTasks(Collection<UUID> taskIds) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                DependencyGraph<UUID> current = graph;
+                taskIds.forEach(current::removeNode);
+            }
+        });
+    }
+
+    public Set<UUID> blockersOf(UUID taskId) {
+        return graph.predecessors(taskId);
+    }
+
+    public Set<UUID> blockedBy(UUID taskId) {
+        return graph.successors(taskId);
+    }
+
+    public List<UUID> longestChain(Collection<UUID> taskIds) {
+        return graph.longestPath(taskIds);
+    }
+
+    public int size() {
+        return graph.edgeCount();
+    }
+}
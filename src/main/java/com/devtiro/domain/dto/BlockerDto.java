@@ -0,0 +1,12 @@
+package com.devtiro.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * A blocking task together with its list, blockers may live in other lists than the task they block.
+ */
+public record BlockerDto(
+        UUID taskListId,
+        TaskDto task
+) {
+}
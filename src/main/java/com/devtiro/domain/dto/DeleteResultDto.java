@@ -0,0 +1,6 @@
+package com.devtiro.domain.dto;
+
+public record DeleteResultDto(
+        int deleted
+) {
+}
@@ -0,0 +1,66 @@
+package com.devtiro.domain.dto;
+
+import com.devtiro.exception.ValidationException;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Parses comma separated {@code fields=} parameters into the selected fields of a resource.
+ */
+public final class FieldSelection {
+
+    private static final String ID = "id";
+
+    /**
+     * Fields by api name and the list of valid names for the error, built once per field type. The error
+     * itself names the rejected field, so it is created per rejection; it captures no stack trace, and
+     * caching it per name would let clients grow the cache without bound.
+     */
+    private static final ClassValue<Fields> FIELDS = new ClassValue<>() {
+        @Override
+        protected Fields computeValue(Class<?> type) {
+            SelectableField[] values = (SelectableField[]) type.getEnumConstants();
+            Map<String, SelectableField> byApiName = Arrays.stream(values)
+                    .collect(Collectors.toUnmodifiableMap(SelectableField::getApiName, Function.identity()));
+            String expected = "', expected one of "
+                    + Arrays.stream(values).map(SelectableField::getApiName).collect(Collectors.joining(", "));
+            return new Fields(byApiName, expected);
+        }
+    };
+
+    private record Fields(Map<String, SelectableField> byApiName, String expected) {
+    }
+
+    private FieldSelection() {
+    }
+
+    /**
+     * Returns the fields named in {@code fields}, in the order given. The field with api name
+     * {@code id} is always selected so clients can correlate sparse rows with later requests.
+     */
+    public static <E extends Enum<E> & SelectableField> Set<E> parse(Class<E> type, String fields) {
+        Fields known = FIELDS.get(type);
+        Set<E> selected = new LinkedHashSet<>();
+        SelectableField id = known.byApiName().get(ID);
+        if (null != id) {
+            selected.add(type.cast(id));
+        }
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            SelectableField field = known.byApiName().get(trimmed);
+            if (null == field) {
+                throw new ValidationException("Unknown field '" + trimmed + known.expected());
+            }
+            selected.add(type.cast(field));
+        }
+        return selected;
+    }
+}
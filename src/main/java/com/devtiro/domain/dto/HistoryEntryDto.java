@@ -0,0 +1,21 @@
+package com.devtiro.domain.dto;
+
+import com.devtiro.domain.entities.ChangeType;
+import com.devtiro.domain.entities.HistoryEntityType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+public record HistoryEntryDto(
+        HistoryEntityType entityType,
+        UUID entityId,
+        long revision,
+        ChangeType changeType,
+        Map<String, Change> changes,
+        LocalDateTime changedAt
+) {
+
+    public record Change(String oldValue, String newValue) {
+    }
+}
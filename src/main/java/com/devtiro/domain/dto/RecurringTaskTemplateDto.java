@@ -0,0 +1,20 @@
+package com.devtiro.domain.dto;
+
+import com.devtiro.domain.entities.RecurrenceFrequency;
+import com.devtiro.domain.entities.TaskPriority;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record RecurringTaskTemplateDto(
+        UUID id,
+        String title,
+        String description,
+        TaskPriority priority,
+        RecurrenceFrequency frequency,
+        Integer interval,
+        LocalDateTime startsAt,
+        LocalDateTime endsAt,
+        LocalDateTime nextOccurrence
+) {
+}
@@ -0,0 +1,9 @@
+package com.devtiro.domain.dto;
+
+/**
+ * A field of a resource that clients can pick with a {@code fields=} parameter.
+ */
+public interface SelectableField {
+
+    String getApiName();
+}
@@ -0,0 +1,11 @@
+package com.devtiro.domain.dto;
+
+import java.util.UUID;
+
+public record TaskBatchItemDto(
+        UUID id,
+        boolean found,
+        UUID taskListId,
+        TaskDto task
+) {
+}
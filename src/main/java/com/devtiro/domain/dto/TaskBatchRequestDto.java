@@ -0,0 +1,9 @@
+package com.devtiro.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public record TaskBatchRequestDto(
+        List<UUID> ids
+) {
+}
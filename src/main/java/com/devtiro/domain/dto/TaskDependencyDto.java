@@ -0,0 +1,9 @@
+package com.devtiro.domain.dto;
+
+import java.util.UUID;
+
+public record TaskDependencyDto(
+        UUID blockerId,
+        UUID blockedId
+) {
+}
@@ -0,0 +1,21 @@
+package com.devtiro.domain.dto;
+
+public enum TaskField implements SelectableField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    DUE_DATE("dueDate"),
+    PRIORITY("priority"),
+    STATUS("status");
+
+    private final String apiName;
+
+    TaskField(String apiName) {
+        this.apiName = apiName;
+    }
+
+    @Override
+    public String getApiName() {
+        return apiName;
+    }
+}
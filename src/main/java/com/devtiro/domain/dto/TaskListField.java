@@ -0,0 +1,24 @@
+package com.devtiro.domain.dto;
+
+/**
+ * Fields of a task list for {@code fields=}. {@code count} and {@code progress} are aggregated in the
+ * database, the nested {@code tasks} array is only available without {@code fields=}.
+ */
+public enum TaskListField implements SelectableField {
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    COUNT("count"),
+    PROGRESS("progress");
+
+    private final String apiName;
+
+    TaskListField(String apiName) {
+        this.apiName = apiName;
+    }
+
+    @Override
+    public String getApiName() {
+        return apiName;
+    }
+}
@@ -0,0 +1,9 @@
+package com.devtiro.domain.dto;
+
+import java.util.UUID;
+
+public record TaskMoveDto(
+        UUID afterTaskId,
+        UUID beforeTaskId
+) {
+}
@@ -0,0 +1,189 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Closed task moved out of {@code tasks} by the archive job. The row keeps its original id and
+ * a plain {@code task_list_id} column so the cold table carries no foreign keys or extra indexes.
+ */
+@Entity
+@Table(name = "archived_tasks")
+public class ArchivedTask {
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "due_date")
+    private LocalDateTime dueDate;
+
+    @Column(name = "status", nullable = false)
+    private TaskStatus status;
+
+    @Column(name = "priority", nullable = false)
+    private TaskPriority priority;
+
+    @Column(name = "task_list_id", nullable = false)
+    private UUID taskListId;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+
+    @Column(name = "archived", nullable = false)
+    private LocalDateTime archived;
+
+    /**
+     * Revision of the {@link ChangeType#ARCHIVED} history entry written when the task was moved.
+     */
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
+    public ArchivedTask() {
+    }
+
+    public ArchivedTask(UUID id, String title, String description, LocalDateTime dueDate, TaskStatus status, TaskPriority priority, UUID taskListId, LocalDateTime created, LocalDateTime updated, LocalDateTime archived) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.dueDate = dueDate;
+        this.status = status;
+        this.priority = priority;
+        this.taskListId = taskListId;
+        this.created = created;
+        this.updated = updated;
+        this.archived = archived;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public UUID getTaskListId() {
+        return taskListId;
+    }
+
+    public void setTaskListId(UUID taskListId) {
+        this.taskListId = taskListId;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public void setCreated(LocalDateTime created) {
+        this.created = created;
+    }
+
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(LocalDateTime updated) {
+        this.updated = updated;
+    }
+
+    public LocalDateTime getArchived() {
+        return archived;
+    }
+
+    public void setArchived(LocalDateTime archived) {
+        this.archived = archived;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        ArchivedTask that = (ArchivedTask) o;
+        return Objects.equals(id, that.id) && Objects.equals(title, that.title) && Objects.equals(description, that.description) && Objects.equals(dueDate, that.dueDate) && status == that.status && priority == that.priority && Objects.equals(taskListId, that.taskListId) && Objects.equals(created, that.created) && Objects.equals(updated, that.updated) && Objects.equals(archived, that.archived) && revision == that.revision;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, dueDate, status, priority, taskListId, created, updated, archived, revision);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedTask{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", description='" + description + '\'' +
+                ", dueDate=" + dueDate +
+                ", status=" + status +
+                ", priority=" + priority +
+                ", taskListId=" + taskListId +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", archived=" + archived +
+                ", revision=" + revision +
+                '}';
+    }
+}
@@ -0,0 +1,5 @@
+package com.devtiro.domain.entities;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED, ARCHIVED
+}
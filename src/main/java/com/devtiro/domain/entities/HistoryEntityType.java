@@ -0,0 +1,5 @@
+package com.devtiro.domain.entities;
+
+public enum HistoryEntityType {
+    TASK, TASK_LIST
+}
@@ -0,0 +1,190 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.Immutable;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One revision of a task or task list with all fields it changed. Entries are only ever inserted, so they
+ * are immutable to Hibernate and always new to Spring Data, which then persists them without a lookup.
+ */
+@Entity
+@Immutable
+@IdClass(HistoryEntry.Key.class)
+@Table(name = "history_revisions")
+public class HistoryEntry implements Persistable<HistoryEntry.Key> {
+
+    @Id
+    @Column(name = "entity_id", updatable = false, nullable = false)
+    private UUID entityId;
+
+    @Id
+    @Column(name = "revision", updatable = false, nullable = false)
+    private long revision;
+
+    @Column(name = "entity_type", updatable = false, nullable = false)
+    private HistoryEntityType entityType;
+
+    @Column(name = "task_list_id", updatable = false, nullable = false)
+    private UUID taskListId;
+
+    @Column(name = "change_type", updatable = false, nullable = false)
+    private ChangeType changeType;
+
+    /**
+     * Changed fields as a JSON object of {@code [old, new]} pairs, {@code {}} for {@link ChangeType#DELETED}
+     * and {@link ChangeType#ARCHIVED}.
+     */
+    @Column(name = "changes", updatable = false, nullable = false, length = 4096)
+    private String changes;
+
+    @Column(name = "changed_at", updatable = false, nullable = false)
+    private LocalDateTime changedAt;
+
+    public HistoryEntry() {
+    }
+
+    public HistoryEntry(UUID entityId, long revision, HistoryEntityType entityType, UUID taskListId, ChangeType changeType, String changes, LocalDateTime changedAt) {
+        this.entityId = entityId;
+        this.revision = revision;
+        this.entityType = entityType;
+        this.taskListId = taskListId;
+        this.changeType = changeType;
+        this.changes = changes;
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(entityId, revision);
+    }
+
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public HistoryEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(HistoryEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getTaskListId() {
+        return taskListId;
+    }
+
+    public void setTaskListId(UUID taskListId) {
+        this.taskListId = taskListId;
+    }
+
+    public ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public String getChanges() {
+        return changes;
+    }
+
+    public void setChanges(String changes) {
+        this.changes = changes;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        HistoryEntry that = (HistoryEntry) o;
+        return revision == that.revision && Objects.equals(entityId, that.entityId) && entityType == that.entityType && Objects.equals(taskListId, that.taskListId) && changeType == that.changeType && Objects.equals(changes, that.changes) && Objects.equals(changedAt, that.changedAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityId, revision, entityType, taskListId, changeType, changes, changedAt);
+    }
+
+    @Override
+    public String toString() {
+        return "HistoryEntry{" +
+                "entityId=" + entityId +
+                ", revision=" + revision +
+                ", entityType=" + entityType +
+                ", taskListId=" + taskListId +
+                ", changeType=" + changeType +
+                ", changes='" + changes + '\'' +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+
+    public static class Key implements Serializable {
+
+        private UUID entityId;
+        private long revision;
+
+        public Key() {
+        }
+
+        public Key(UUID entityId, long revision) {
+            this.entityId = entityId;
+            this.revision = revision;
+        }
+
+        public UUID getEntityId() {
+            return entityId;
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return revision == key.revision && Objects.equals(entityId, key.entityId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(entityId, revision);
+        }
+    }
+}
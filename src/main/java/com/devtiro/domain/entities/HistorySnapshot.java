@@ -0,0 +1,137 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * All history fields of a task or task list as of {@link #revision}, stored as a JSON object.
+ */
+@Entity
+@Table(name = "history_snapshots")
+public class HistorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "entity_type", updatable = false, nullable = false)
+    private HistoryEntityType entityType;
+
+    @Column(name = "entity_id", updatable = false, nullable = false)
+    private UUID entityId;
+
+    @Column(name = "task_list_id", updatable = false, nullable = false)
+    private UUID taskListId;
+
+    @Column(name = "revision", updatable = false, nullable = false)
+    private long revision;
+
+    @Column(name = "state", updatable = false, nullable = false, length = 2048)
+    private String state;
+
+    @Column(name = "taken_at", updatable = false, nullable = false)
+    private LocalDateTime takenAt;
+
+    public HistorySnapshot() {
+    }
+
+    public HistorySnapshot(UUID id, HistoryEntityType entityType, UUID entityId, UUID taskListId, long revision, String state, LocalDateTime takenAt) {
+        this.id = id;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.taskListId = taskListId;
+        this.revision = revision;
+        this.state = state;
+        this.takenAt = takenAt;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public HistoryEntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(HistoryEntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public UUID getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(UUID entityId) {
+        this.entityId = entityId;
+    }
+
+    public UUID getTaskListId() {
+        return taskListId;
+    }
+
+    public void setTaskListId(UUID taskListId) {
+        this.taskListId = taskListId;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(String state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        HistorySnapshot that = (HistorySnapshot) o;
+        return revision == that.revision && Objects.equals(id, that.id) && entityType == that.entityType && Objects.equals(entityId, that.entityId) && Objects.equals(taskListId, that.taskListId) && Objects.equals(state, that.state) && Objects.equals(takenAt, that.takenAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, entityType, entityId, taskListId, revision, state, takenAt);
+    }
+
+    @Override
+    public String toString() {
+        return "HistorySnapshot{" +
+                "id=" + id +
+                ", entityType=" + entityType +
+                ", entityId=" + entityId +
+                ", taskListId=" + taskListId +
+                ", revision=" + revision +
+                ", state='" + state + '\'' +
+                ", takenAt=" + takenAt +
+                '}';
+    }
+}
@@ -0,0 +1,93 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Row based lease that lets exactly one node run a background job at a time.
+ */
+@Entity
+@Table(name = "job_leases")
+public class JobLease {
+
+    @Id
+    @Column(name = "name", updatable = false, nullable = false)
+    private String name;
+
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "checkpoint")
+    private LocalDateTime checkpoint;
+
+    public JobLease() {
+    }
+
+    public JobLease(String name, String owner, LocalDateTime expiresAt) {
+        this.name = name;
+        this.owner = owner;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCheckpoint() {
+        return checkpoint;
+    }
+
+    public void setCheckpoint(LocalDateTime checkpoint) {
+        this.checkpoint = checkpoint;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        JobLease jobLease = (JobLease) o;
+        return Objects.equals(name, jobLease.name) && Objects.equals(owner, jobLease.owner) && Objects.equals(expiresAt, jobLease.expiresAt) && Objects.equals(checkpoint, jobLease.checkpoint);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, owner, expiresAt, checkpoint);
+    }
+
+    @Override
+    public String toString() {
+        return "JobLease{" +
+                "name='" + name + '\'' +
+                ", owner='" + owner + '\'' +
+                ", expiresAt=" + expiresAt +
+                ", checkpoint=" + checkpoint +
+                '}';
+    }
+}
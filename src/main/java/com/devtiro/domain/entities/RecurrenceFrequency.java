@@ -0,0 +1,29 @@
+package com.devtiro.domain.entities;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+public enum RecurrenceFrequency {
+    DAILY(ChronoUnit.DAYS), WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS);
+
+    private final ChronoUnit unit;
+
+    RecurrenceFrequency(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Returns the occurrence {@code periods} periods after {@code start}. Months are always added to
+     * the start rather than to the previous occurrence, so the 31st does not drift to the 28th.
+     */
+    public LocalDateTime plus(LocalDateTime start, long periods) {
+        return start.plus(periods, unit);
+    }
+
+    /**
+     * Whole periods between {@code start} and {@code end}, rounded down.
+     */
+    public long periodsBetween(LocalDateTime start, LocalDateTime end) {
+        return unit.between(start, end);
+    }
+}
@@ -0,0 +1,227 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "recurring_task_templates")
+public class RecurringTaskTemplate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "priority", nullable = false)
+    private TaskPriority priority;
+
+    @Column(name = "frequency", nullable = false)
+    private RecurrenceFrequency frequency;
+
+    @Column(name = "interval_count", nullable = false)
+    private int interval;
+
+    @Column(name = "starts_at", nullable = false)
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    /**
+     * Number of periods already turned into tasks, the next occurrence is derived from it.
+     */
+    @Column(name = "materialized_count", nullable = false)
+    private long materializedCount;
+
+    /**
+     * Next occurrence still to be created, {@code null} once the schedule has ended.
+     */
+    @Column(name = "next_occurrence")
+    private LocalDateTime nextOccurrence;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_list_id", nullable = false)
+    private TaskList taskList;
+
+    @Column(name = "created", nullable = false)
+    private LocalDateTime created;
+
+    @Column(name = "updated", nullable = false)
+    private LocalDateTime updated;
+
+    public RecurringTaskTemplate() {
+    }
+
+    public RecurringTaskTemplate(UUID id, String title, String description, TaskPriority priority, RecurrenceFrequency frequency, int interval, LocalDateTime startsAt, LocalDateTime endsAt, TaskList taskList, LocalDateTime created, LocalDateTime updated) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.startsAt = startsAt;
+        this.endsAt = endsAt;
+        this.taskList = taskList;
+        this.created = created;
+        this.updated = updated;
+    }
+
+    /**
+     * Returns the {@code index}-th occurrence of the schedule, or {@code null} if it falls after {@link #endsAt}.
+     */
+    public LocalDateTime occurrence(long index) {
+        LocalDateTime occurrence = frequency.plus(startsAt, index * interval);
+        return null != endsAt && occurrence.isAfter(endsAt) ? null : occurrence;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public RecurrenceFrequency getFrequency() {
+        return frequency;
+    }
+
+    public void setFrequency(RecurrenceFrequency frequency) {
+        this.frequency = frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public void setInterval(int interval) {
+        this.interval = interval;
+    }
+
+    public LocalDateTime getStartsAt() {
+        return startsAt;
+    }
+
+    public void setStartsAt(LocalDateTime startsAt) {
+        this.startsAt = startsAt;
+    }
+
+    public LocalDateTime getEndsAt() {
+        return endsAt;
+    }
+
+    public void setEndsAt(LocalDateTime endsAt) {
+        this.endsAt = endsAt;
+    }
+
+    public long getMaterializedCount() {
+        return materializedCount;
+    }
+
+    public void setMaterializedCount(long materializedCount) {
+        this.materializedCount = materializedCount;
+    }
+
+    public LocalDateTime getNextOccurrence() {
+        return nextOccurrence;
+    }
+
+    public void setNextOccurrence(LocalDateTime nextOccurrence) {
+        this.nextOccurrence = nextOccurrence;
+    }
+
+    public TaskList getTaskList() {
+        return taskList;
+    }
+
+    public void setTaskList(TaskList taskList) {
+        this.taskList = taskList;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public void setCreated(LocalDateTime created) {
+        this.created = created;
+    }
+
+    public LocalDateTime getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(LocalDateTime updated) {
+        this.updated = updated;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        RecurringTaskTemplate that = (RecurringTaskTemplate) o;
+        return interval == that.interval && materializedCount == that.materializedCount && Objects.equals(id, that.id) && Objects.equals(title, that.title) && Objects.equals(description, that.description) && priority == that.priority && frequency == that.frequency && Objects.equals(startsAt, that.startsAt) && Objects.equals(endsAt, that.endsAt) && Objects.equals(nextOccurrence, that.nextOccurrence) && Objects.equals(created, that.created) && Objects.equals(updated, that.updated);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, title, description, priority, frequency, interval, startsAt, endsAt, materializedCount, nextOccurrence, created, updated);
+    }
+
+    @Override
+    public String toString() {
+        return "RecurringTaskTemplate{" +
+                "id=" + id +
+                ", title='" + title + '\'' +
+                ", description='" + description + '\'' +
+                ", priority=" + priority +
+                ", frequency=" + frequency +
+                ", interval=" + interval +
+                ", startsAt=" + startsAt +
+                ", endsAt=" + endsAt +
+                ", materializedCount=" + materializedCount +
+                ", nextOccurrence=" + nextOccurrence +
+                ", created=" + created +
+                ", updated=" + updated +
+                '}';
+    }
+}
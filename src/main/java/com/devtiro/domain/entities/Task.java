@@ -9,6 +9,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.PartitionKey;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
@@ -42,6 +43,35 @@ public class Task {
     @JoinColumn(name = "task_list_id")
     private TaskList taskList;
 
+    /**
+     * Read-only copy of the {@link #taskList} id. On PostgreSQL tasks are hash partitioned on this column,
+     * marking it as the partition key makes Hibernate add it to every update and delete by id.
+     */
+    @PartitionKey
+    @Column(name = "task_list_id", insertable = false, updatable = false)
+    private UUID taskListId;
+
+    /**
+     * Template this task was materialized from, {@code null} for tasks created by hand.
+     */
+    @Column(name = "recurring_template_id", updatable = false)
+    private UUID recurringTemplateId;
+
+    @Column(name = "occurrence", updatable = false)
+    private LocalDateTime occurrence;
+
+    /**
+     * Rank key of the task within its list, see {@link com.devtiro.ordering.RankKeys}.
+     */
+    @Column(name = "position", nullable = false)
+    private String position;
+
+    /**
+     * Incremented with every change recorded in the history.
+     */
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
 
@@ -58,7 +88,7 @@ public class Task {
         this.dueDate = dueDate;
         this.status = status;
         this.priority = priority;
-        this.taskList = taskList;
+        setTaskList(taskList);
         this.created = created;
         this.updated = updated;
     }
@@ -117,6 +147,43 @@ public class Task {
 
     public void setTaskList(TaskList taskList) {
         this.taskList = taskList;
+        this.taskListId = null == taskList ? null : taskList.getId();
+    }
+
+    public UUID getTaskListId() {
+        return taskListId;
+    }
+
+    public UUID getRecurringTemplateId() {
+        return recurringTemplateId;
+    }
+
+    public void setRecurringTemplateId(UUID recurringTemplateId) {
+        this.recurringTemplateId = recurringTemplateId;
+    }
+
+    public LocalDateTime getOccurrence() {
+        return occurrence;
+    }
+
+    public void setOccurrence(LocalDateTime occurrence) {
+        this.occurrence = occurrence;
+    }
+
+    public String getPosition() {
+        return position;
+    }
+
+    public void setPosition(String position) {
+        this.position = position;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
     }
 
     public LocalDateTime getCreated() {
@@ -139,12 +206,12 @@ public class Task {
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         Task task = (Task) o;
-        return Objects.equals(id, task.id) && Objects.equals(title, task.title) && Objects.equals(description, task.description) && Objects.equals(dueDate, task.dueDate) && status == task.status && priority == task.priority && Objects.equals(taskList, task.taskList) && Objects.equals(created, task.created) && Objects.equals(updated, task.updated);
+        return Objects.equals(id, task.id) && Objects.equals(title, task.title) && Objects.equals(description, task.description) && Objects.equals(dueDate, task.dueDate) && status == task.status && priority == task.priority && Objects.equals(taskList, task.taskList) && Objects.equals(recurringTemplateId, task.recurringTemplateId) && Objects.equals(occurrence, task.occurrence) && Objects.equals(position, task.position) && revision == task.revision && Objects.equals(created, task.created) && Objects.equals(updated, task.updated);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, dueDate, status, priority, taskList, created, updated);
+        return Objects.hash(id, title, description, dueDate, status, priority, taskList, recurringTemplateId, occurrence, position, revision, created, updated);
     }
 
     @Override
@@ -157,6 +224,10 @@ public class Task {
                 ", status=" + status +
                 ", priority=" + priority +
                 ", taskList=" + taskList +
+                ", recurringTemplateId=" + recurringTemplateId +
+                ", occurrence=" + occurrence +
+                ", position='" + position + '\'' +
+                ", revision=" + revision +
                 ", created=" + created +
                 ", updated=" + updated +
                 '}';
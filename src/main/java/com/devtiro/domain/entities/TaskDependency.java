@@ -0,0 +1,98 @@
+package com.devtiro.domain.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Task {@link #blockerId} has to be closed before task {@link #blockedId} can start.
+ */
+@Entity
+@Table(name = "task_dependencies")
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "blocker_id", updatable = false, nullable = false)
+    private UUID blockerId;
+
+    @Column(name = "blocked_id", updatable = false, nullable = false)
+    private UUID blockedId;
+
+    @Column(name = "created", updatable = false, nullable = false)
+    private LocalDateTime created;
+
+    public TaskDependency() {
+    }
+
+    public TaskDependency(UUID id, UUID blockerId, UUID blockedId, LocalDateTime created) {
+        this.id = id;
+        this.blockerId = blockerId;
+        this.blockedId = blockedId;
+        this.created = created;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getBlockerId() {
+        return blockerId;
+    }
+
+    public void setBlockerId(UUID blockerId) {
+        this.blockerId = blockerId;
+    }
+
+    public UUID getBlockedId() {
+        return blockedId;
+    }
+
+    public void setBlockedId(UUID blockedId) {
+        this.blockedId = blockedId;
+    }
+
+    public LocalDateTime getCreated() {
+        return created;
+    }
+
+    public void setCreated(LocalDateTime created) {
+        this.created = created;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == null || getClass() != o.getClass()) return false;
+        TaskDependency that = (TaskDependency) o;
+        return Objects.equals(id, that.id) && Objects.equals(blockerId, that.blockerId) && Objects.equals(blockedId, that.blockedId) && Objects.equals(created, that.created);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, blockerId, blockedId, created);
+    }
+
+    @Override
+    public String toString() {
+        return "TaskDependency{" +
+                "id=" + id +
+                ", blockerId=" + blockerId +
+                ", blockedId=" + blockedId +
+                ", created=" + created +
+                '}';
+    }
+}
@@ -8,6 +8,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,6 +17,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "task_lists")
+@SQLRestriction("deleted_at is null")
 public class TaskList {
 
     @Id
@@ -40,6 +42,21 @@ public class TaskList {
     @Column(name = "updated", nullable = false)
     private LocalDateTime updated;
 
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    /**
+     * Set while the list waits for its task positions to be rewritten to short rank keys.
+     */
+    @Column(name = "rebalance_requested_at")
+    private LocalDateTime rebalanceRequestedAt;
+
+    /**
+     * Incremented with every change recorded in the history.
+     */
+    @Column(name = "revision", nullable = false)
+    private long revision;
+
     public TaskList() {
     }
 
@@ -100,16 +117,40 @@ public class TaskList {
         this.updated = updated;
     }
 
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public LocalDateTime getRebalanceRequestedAt() {
+        return rebalanceRequestedAt;
+    }
+
+    public void setRebalanceRequestedAt(LocalDateTime rebalanceRequestedAt) {
+        this.rebalanceRequestedAt = rebalanceRequestedAt;
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == null || getClass() != o.getClass()) return false;
         TaskList taskList = (TaskList) o;
-        return Objects.equals(id, taskList.id) && Objects.equals(title, taskList.title) && Objects.equals(description, taskList.description) && Objects.equals(tasks, taskList.tasks) && Objects.equals(created, taskList.created) && Objects.equals(updated, taskList.updated);
+        return Objects.equals(id, taskList.id) && Objects.equals(title, taskList.title) && Objects.equals(description, taskList.description) && Objects.equals(tasks, taskList.tasks) && Objects.equals(created, taskList.created) && Objects.equals(updated, taskList.updated) && Objects.equals(deletedAt, taskList.deletedAt) && Objects.equals(rebalanceRequestedAt, taskList.rebalanceRequestedAt) && revision == taskList.revision;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, title, description, tasks, created, updated);
+        return Objects.hash(id, title, description, tasks, created, updated, deletedAt, rebalanceRequestedAt, revision);
     }
 
     @Override
@@ -121,6 +162,9 @@ public class TaskList {
                 ", tasks=" + tasks +
                 ", created=" + created +
                 ", updated=" + updated +
+                ", deletedAt=" + deletedAt +
+                ", rebalanceRequestedAt=" + rebalanceRequestedAt +
+                ", revision=" + revision +
                 '}';
     }
 }
@@ -0,0 +1,15 @@
+package com.devtiro.domain.events;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Published whenever a task's reminder may have changed. A {@code null} due date means the
+ * task no longer needs a reminder, because it was closed, deleted or lost its due date.
+ */
+public record TaskDueDateChangedEvent(
+        UUID taskListId,
+        UUID taskId,
+        LocalDateTime dueDate
+) {
+}
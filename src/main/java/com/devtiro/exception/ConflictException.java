@@ -0,0 +1,11 @@
+package com.devtiro.exception;
+
+/**
+ * The request is valid on its own but clashes with the current state, e.g. a dependency cycle. Answered with 409.
+ */
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
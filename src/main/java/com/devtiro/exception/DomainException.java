@@ -0,0 +1,12 @@
+package com.devtiro.exception;
+
+/**
+ * Base of the errors services report to clients. These are expected outcomes rather than bugs, so no
+ * stack trace is captured, and instances with a fixed message are created once and thrown repeatedly.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
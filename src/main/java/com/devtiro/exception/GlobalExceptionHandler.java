@@ -1,24 +1,55 @@
 package com.devtiro.exception;
 
-import com.devtiro.domain.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.web.context.request.WebRequest;
 
+import java.net.URI;
+
+/**
+ * Maps {@link DomainException}s to RFC 7807 problem details, served as {@code application/problem+json}.
+ * Invalid input is reported as a {@link ValidationException}, so an {@link IllegalArgumentException} that
+ * escapes a service, such as out of order bounds passed to {@code RankKeys.between}, is a bug: it is logged
+ * and answered with 500 without its message.
+ */
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    @ExceptionHandler(NotFoundException.class)
+    public ResponseEntity<ProblemDetail> handleNotFound(NotFoundException ex, HttpServletRequest request) {
+        return problem(HttpStatus.NOT_FOUND, ex, request);
+    }
+
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ProblemDetail> handleConflict(ConflictException ex, HttpServletRequest request) {
+        return problem(HttpStatus.CONFLICT, ex, request);
+    }
+
+    @ExceptionHandler(ValidationException.class)
+    public ResponseEntity<ProblemDetail> handleValidation(ValidationException ex, HttpServletRequest request) {
+        return problem(HttpStatus.BAD_REQUEST, ex, request);
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
-    public ResponseEntity<ErrorResponse> handleExceptions(
-            RuntimeException ex, WebRequest request
-    ) {
-        ErrorResponse errorResponse = new ErrorResponse(
-                HttpStatus.BAD_REQUEST.value(),
-                ex.getMessage(),
-                request.getDescription(false)
-        );
-        return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+    public ResponseEntity<ProblemDetail> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
+        log.error("Unexpected error handling {}", request.getRequestURI(), ex);
+        return problem(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", request);
+    }
+
+    private ResponseEntity<ProblemDetail> problem(HttpStatus status, RuntimeException ex, HttpServletRequest request) {
+        return problem(status, ex.getMessage(), request);
+    }
+
+    private ResponseEntity<ProblemDetail> problem(HttpStatus status, String detail, HttpServletRequest request) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(status, detail);
+        problemDetail.setInstance(URI.create(request.getRequestURI()));
+        return ResponseEntity.status(status).body(problemDetail);
     }
 }
@@ -0,0 +1,11 @@
+package com.devtiro.exception;
+
+/**
+ * A task list or task addressed by the request path does not exist. Answered with 404.
+ */
+public class NotFoundException extends DomainException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+}
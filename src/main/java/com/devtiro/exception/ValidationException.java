@@ -0,0 +1,11 @@
+package com.devtiro.exception;
+
+/**
+ * The request itself is invalid, including references in its body to tasks that do not exist. Answered with 400.
+ */
+public class ValidationException extends DomainException {
+
+    public ValidationException(String message) {
+        super(message);
+    }
+}
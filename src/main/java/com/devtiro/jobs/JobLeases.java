@@ -0,0 +1,96 @@
+package com.devtiro.jobs;
+
+import com.devtiro.domain.entities.JobLease;
+import com.devtiro.repositories.JobLeaseRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@code job_leases} rows held by this node, so a scheduled job runs on one replica at a time.
+ * Each acquire commits on its own; jobs that run longer than the lease call {@link #tryAcquire}
+ * again between batches to extend it and stop as soon as it fails. A lease row is created the
+ * first time its job runs.
+ */
+@Component
+public class JobLeases {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+    private final Set<String> seeded = ConcurrentHashMap.newKeySet();
+
+    public JobLeases(JobLeaseRepository jobLeaseRepository, TransactionTemplate transactionTemplate) {
+        this.jobLeaseRepository = jobLeaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes the lease {@code name} for {@code duration}, or extends it if this node already holds it.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        seed(name);
+        LocalDateTime now = LocalDateTime.now();
+        Integer acquired = transactionTemplate.execute(status ->
+                jobLeaseRepository.tryAcquire(name, owner, now, now.plus(duration)));
+        return null != acquired && acquired == 1;
+    }
+
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status ->
+                jobLeaseRepository.release(name, owner, LocalDateTime.now()));
+    }
+
+    /**
+     * Stores {@code checkpoint} with the lease {@code name}. Returns false, storing nothing, if this node
+     * does not hold the lease.
+     */
+    public boolean saveCheckpoint(String name, LocalDateTime checkpoint) {
+        Integer saved = transactionTemplate.execute(status ->
+                jobLeaseRepository.saveCheckpoint(name, owner, checkpoint));
+        return null != saved && saved == 1;
+    }
+
+    /**
+     * The checkpoint last stored with the lease {@code name} by any node.
+     */
+    public Optional<LocalDateTime> checkpoint(String name) {
+        return jobLeaseRepository.findCheckpoint(name);
+    }
+
+    private void seed(String name) {
+        if (seeded.contains(name)) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (!jobLeaseRepository.existsById(name)) {
+                    jobLeaseRepository.saveAndFlush(new JobLease(name, null, EPOCH));
+                }
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created the row first
+        }
+        seeded.add(name);
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
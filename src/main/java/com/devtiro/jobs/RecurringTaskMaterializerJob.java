@@ -0,0 +1,189 @@
+package com.devtiro.jobs;
+
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.domain.events.TaskDueDateChangedEvent;
+import com.devtiro.ordering.RankKeys;
+import com.devtiro.repositories.RecurringTaskTemplateRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.HistoryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Creates tasks from recurring task templates up to {@code task-tracker.recurring.horizon} ahead.
+ * <p>
+ * Only the node holding the {@code job_leases} row runs, and each batch saves its tasks and the
+ * advanced template counters in one transaction, so a restart resumes exactly where the last commit
+ * stopped. The unique (recurring_template_id, occurrence) index rejects a batch if an expired lease
+ * ever lets two nodes overlap.
+ * <p>
+ * Tasks are created a whole horizon before they are due and every run is capped, so schedules that
+ * all fall on midnight are spread over several small runs instead of one burst of writes.
+ */
+@Component
+@Lazy(false)
+public class RecurringTaskMaterializerJob {
+
+    private static final Logger log = LoggerFactory.getLogger(RecurringTaskMaterializerJob.class);
+
+    private static final String LEASE_NAME = "recurring-task-materializer";
+
+    private final RecurringTaskTemplateRepository templateRepository;
+    private final TaskRepository taskRepository;
+    private final JobLeases jobLeases;
+    private final HistoryService historyService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration horizon;
+    private final int batchSize;
+    private final int maxTasksPerRun;
+    private final Duration leaseDuration;
+    private final Duration batchPause;
+
+    public RecurringTaskMaterializerJob(
+            RecurringTaskTemplateRepository templateRepository,
+            TaskRepository taskRepository,
+            JobLeases jobLeases,
+            HistoryService historyService,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${task-tracker.recurring.horizon:14d}") Duration horizon,
+            @Value("${task-tracker.recurring.batch-size:200}") int batchSize,
+            @Value("${task-tracker.recurring.max-tasks-per-run:2000}") int maxTasksPerRun,
+            @Value("${task-tracker.recurring.lease:5m}") Duration leaseDuration,
+            @Value("${task-tracker.recurring.batch-pause:100ms}") Duration batchPause) {
+        this.templateRepository = templateRepository;
+        this.taskRepository = taskRepository;
+        this.jobLeases = jobLeases;
+        this.historyService = historyService;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.maxTasksPerRun = maxTasksPerRun;
+        this.leaseDuration = leaseDuration;
+        this.batchPause = batchPause;
+    }
+
+    @Scheduled(initialDelayString = "${task-tracker.recurring.interval:1m}",
+            fixedDelayString = "${task-tracker.recurring.interval:1m}")
+    public void materializeRecurringTasks() {
+        if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+
+        long createdTasks = 0;
+        try {
+            int created;
+            do {
+                LocalDateTime until = LocalDateTime.now().plus(horizon);
+                created = transactionTemplate.execute(status -> materializeBatch(until));
+                createdTasks += created;
+                if (created == batchSize) {
+                    pause();
+                }
+            } while (created == batchSize && createdTasks < maxTasksPerRun
+                    && jobLeases.tryAcquire(LEASE_NAME, leaseDuration));
+        } catch (DataIntegrityViolationException ex) {
+            // Another node created some of these occurrences, the next run starts from the committed counters
+            log.warn("Recurring task batch rolled back, occurrences already exist: {}", ex.getMessage());
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+
+        if (createdTasks > 0) {
+            log.info("Materialized {} recurring tasks", createdTasks);
+        }
+    }
+
+    /**
+     * Creates at most {@code batchSize} tasks from the earliest due templates. Returns fewer only
+     * when no template has another occurrence before {@code until}.
+     */
+    private int materializeBatch(LocalDateTime until) {
+        List<RecurringTaskTemplate> templates = templateRepository.findDue(until, Limit.of(batchSize));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Task> tasks = new ArrayList<>(batchSize);
+        Map<UUID, String> lastPositions = new HashMap<>();
+        for (RecurringTaskTemplate template : templates) {
+            long index = template.getMaterializedCount();
+            LocalDateTime occurrence = template.getNextOccurrence();
+            while (null != occurrence && !occurrence.isAfter(until) && tasks.size() < batchSize) {
+                tasks.add(toTask(template, occurrence, nextPosition(lastPositions, template), now));
+                occurrence = template.occurrence(++index);
+            }
+            template.setMaterializedCount(index);
+            template.setNextOccurrence(occurrence);
+            if (tasks.size() == batchSize) {
+                break;
+            }
+        }
+
+        // Inserted in JDBC batches of hibernate.jdbc.batch_size on commit
+        taskRepository.saveAll(tasks);
+        historyService.recordTasksCreated(tasks);
+        tasks.forEach(task -> eventPublisher.publishEvent(
+                new TaskDueDateChangedEvent(task.getTaskListId(), task.getId(), task.getDueDate())));
+        return tasks.size();
+    }
+
+    /**
+     * Appends to the end of the template's list, reading the list's last position once per batch.
+     */
+    private String nextPosition(Map<UUID, String> lastPositions, RecurringTaskTemplate template) {
+        UUID taskListId = template.getTaskList().getId();
+        String last = lastPositions.containsKey(taskListId)
+                ? lastPositions.get(taskListId)
+                : taskRepository.findLastPosition(taskListId).orElse(null);
+        String position = RankKeys.between(last, null);
+        lastPositions.put(taskListId, position);
+        return position;
+    }
+
+    private Task toTask(RecurringTaskTemplate template, LocalDateTime occurrence, String position, LocalDateTime now) {
+        Task task = new Task(
+                null,
+                template.getTitle(),
+                template.getDescription(),
+                occurrence,
+                TaskStatus.OPEN,
+                template.getPriority(),
+                template.getTaskList(),
+                now,
+                now
+        );
+        task.setRecurringTemplateId(template.getId());
+        task.setOccurrence(occurrence);
+        task.setPosition(position);
+        task.setRevision(1);
+        return task;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while materializing recurring tasks", ex);
+        }
+    }
+}
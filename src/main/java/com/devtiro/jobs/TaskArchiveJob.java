@@ -0,0 +1,130 @@
+package com.devtiro.jobs;
+
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.repositories.ArchivedTaskRepository;
+import com.devtiro.repositories.TaskListRevision;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskDependencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Moves tasks that have been closed for longer than {@code task-tracker.archive.closed-after}
+ * into {@code archived_tasks}, so the hot table only grows with active work. Each batch is
+ * copied, deleted, stripped of its dependencies and recorded as {@code ARCHIVED} in the history
+ * in one transaction. Only the node holding the {@code task-archive} lease runs; it extends the
+ * lease before every batch and stops if it was lost. If an expired lease ever lets two nodes
+ * overlap, the primary key of {@code archived_tasks} rolls back the second copy of a batch.
+ */
+@Component
+@Lazy(false)
+public class TaskArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskArchiveJob.class);
+
+    private static final String LEASE_NAME = "task-archive";
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final HistoryService historyService;
+    private final TaskDependencyService taskDependencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeases jobLeases;
+    private final Duration closedAfter;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final Duration leaseDuration;
+
+    public TaskArchiveJob(
+            TaskRepository taskRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            HistoryService historyService,
+            TaskDependencyService taskDependencyService,
+            TransactionTemplate transactionTemplate,
+            JobLeases jobLeases,
+            @Value("${task-tracker.archive.closed-after:30d}") Duration closedAfter,
+            @Value("${task-tracker.archive.batch-size:500}") int batchSize,
+            @Value("${task-tracker.archive.batch-pause:100ms}") Duration batchPause,
+            @Value("${task-tracker.archive.lease:5m}") Duration leaseDuration) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.historyService = historyService;
+        this.taskDependencyService = taskDependencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeases = jobLeases;
+        this.closedAfter = closedAfter;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(initialDelayString = "${task-tracker.archive.interval:1h}",
+            fixedDelayString = "${task-tracker.archive.interval:1h}")
+    public void archiveClosedTasks() {
+        if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(closedAfter);
+
+        long archivedTasks = 0;
+        try {
+            int archived;
+            do {
+                archived = transactionTemplate.execute(status -> archiveBatch(cutoff, now));
+                archivedTasks += archived;
+                pause();
+            } while (archived == batchSize && jobLeases.tryAcquire(LEASE_NAME, leaseDuration));
+        } catch (DataIntegrityViolationException ex) {
+            // Another node archived some of these tasks, the next run continues from what is left
+            log.warn("Archive batch rolled back, tasks already archived: {}", ex.getMessage());
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+
+        if (archivedTasks > 0) {
+            log.info("Archived {} tasks closed before {}", archivedTasks, cutoff);
+        }
+    }
+
+    private int archiveBatch(LocalDateTime cutoff, LocalDateTime now) {
+        List<TaskListRevision> revisions = taskRepository.findRevisionsByStatusAndUpdatedBefore(
+                TaskStatus.CLOSED, cutoff, PageRequest.ofSize(batchSize));
+        if (revisions.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = revisions.stream().map(TaskListRevision::getId).toList();
+        Map<UUID, List<TaskListRevision>> revisionsByTaskList = revisions.stream()
+                .collect(Collectors.groupingBy(TaskListRevision::getTaskListId));
+        // Copied and deleted by list and id, so only the partitions of the batch's lists are touched
+        archivedTaskRepository.copyFromTasks(revisionsByTaskList.keySet(), ids, now);
+        int archived = taskRepository.deleteByTaskListIdInAndIdIn(revisionsByTaskList.keySet(), ids);
+        taskDependencyService.removeTasks(ids);
+        revisionsByTaskList.forEach(historyService::recordTasksArchived);
+        return archived;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while archiving tasks", ex);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.devtiro.jobs;
+
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.repositories.ArchivedTaskRepository;
+import com.devtiro.repositories.RecurringTaskTemplateRepository;
+import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.repositories.TaskRevision;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskDependencyService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Physically removes soft deleted task lists. Tasks are deleted in small batches, each in
+ * its own transaction with a pause in between, so a huge list never holds long locks or
+ * starves request traffic. Every batch records a {@code DELETED} history entry per task it
+ * removes and deletes the dependencies of its tasks. Only the node holding the
+ * {@code task-list-purge} lease runs. It extends the lease before every batch and stops if
+ * the lease was lost.
+ */
+@Component
+@Lazy(false)
+public class TaskListPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskListPurgeJob.class);
+
+    private static final String LEASE_NAME = "task-list-purge";
+
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final RecurringTaskTemplateRepository recurringTaskTemplateRepository;
+    private final HistoryService historyService;
+    private final TaskDependencyService taskDependencyService;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeases jobLeases;
+    private final int batchSize;
+    private final int listsPerRun;
+    private final Duration batchPause;
+    private final Duration leaseDuration;
+
+    public TaskListPurgeJob(
+            TaskListRepository taskListRepository,
+            TaskRepository taskRepository,
+            ArchivedTaskRepository archivedTaskRepository,
+            RecurringTaskTemplateRepository recurringTaskTemplateRepository,
+            HistoryService historyService,
+            TaskDependencyService taskDependencyService,
+            TransactionTemplate transactionTemplate,
+            JobLeases jobLeases,
+            @Value("${task-tracker.purge.batch-size:500}") int batchSize,
+            @Value("${task-tracker.purge.lists-per-run:10}") int listsPerRun,
+            @Value("${task-tracker.purge.batch-pause:100ms}") Duration batchPause,
+            @Value("${task-tracker.purge.lease:5m}") Duration leaseDuration) {
+        this.taskListRepository = taskListRepository;
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.recurringTaskTemplateRepository = recurringTaskTemplateRepository;
+        this.historyService = historyService;
+        this.taskDependencyService = taskDependencyService;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeases = jobLeases;
+        this.batchSize = batchSize;
+        this.listsPerRun = listsPerRun;
+        this.batchPause = batchPause;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(initialDelayString = "${task-tracker.purge.interval:30s}",
+            fixedDelayString = "${task-tracker.purge.interval:30s}")
+    public void purgeDeletedTaskLists() {
+        if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            for (TaskList taskList : taskListRepository.findDeleted(listsPerRun)) {
+                if (!purgeTaskList(taskList.getId())) {
+                    return;
+                }
+            }
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Returns {@code false} if the lease was lost before the list was completely removed.
+     */
+    private boolean purgeTaskList(UUID taskListId) {
+        long purgedTasks = 0;
+        int deleted;
+        do {
+            if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+                return false;
+            }
+            deleted = transactionTemplate.execute(status -> purgeTaskBatch(taskListId));
+            purgedTasks += deleted;
+            pause();
+        } while (deleted == batchSize);
+
+        do {
+            if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+                return false;
+            }
+            deleted = transactionTemplate.execute(status -> purgeArchivedTaskBatch(taskListId));
+            purgedTasks += deleted;
+            pause();
+        } while (deleted == batchSize);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            recurringTaskTemplateRepository.purgeByTaskListId(taskListId);
+            taskListRepository.purgeById(taskListId);
+        });
+        log.info("Purged deleted task list {} with {} tasks", taskListId, purgedTasks);
+        return true;
+    }
+
+    private int purgeTaskBatch(UUID taskListId) {
+        List<TaskRevision> revisions = taskRepository.findRevisionsForPurge(taskListId, Limit.of(batchSize));
+        if (revisions.isEmpty()) {
+            return 0;
+        }
+        List<UUID> ids = revisions.stream().map(TaskRevision::getId).toList();
+        taskRepository.purgeByTaskListIdAndIdIn(taskListId, ids);
+        taskDependencyService.removeTasks(ids);
+        historyService.recordTasksDeleted(taskListId, revisions);
+        return revisions.size();
+    }
+
+    private int purgeArchivedTaskBatch(UUID taskListId) {
+        List<TaskRevision> revisions = archivedTaskRepository.findRevisionsForPurge(taskListId, Limit.of(batchSize));
+        if (revisions.isEmpty()) {
+            return 0;
+        }
+        archivedTaskRepository.purgeByTaskListIdAndIdIn(taskListId, revisions.stream().map(TaskRevision::getId).toList());
+        historyService.recordTasksDeleted(taskListId, revisions);
+        return revisions.size();
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(batchPause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while purging task lists", ex);
+        }
+    }
+}
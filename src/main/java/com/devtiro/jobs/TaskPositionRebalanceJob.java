@@ -0,0 +1,76 @@
+package com.devtiro.jobs;
+
+import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Rewrites the positions of lists whose rank keys got long from repeated moves into the same gap.
+ * Moves flag their list in {@code task_lists.rebalance_requested_at}, so a burst of moves in one list
+ * costs a single rebalance and requests survive restarts. Only the node holding the
+ * {@code task-position-rebalance} lease runs; it extends the lease before every list and stops if it
+ * was lost. The flag is cleared in the transaction that rewrites the list, a move that needs another
+ * rebalance meanwhile sets it again once that transaction commits.
+ */
+@Component
+@Lazy(false)
+public class TaskPositionRebalanceJob {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskPositionRebalanceJob.class);
+
+    private static final String LEASE_NAME = "task-position-rebalance";
+
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobLeases jobLeases;
+    private final int listsPerRun;
+    private final Duration leaseDuration;
+
+    public TaskPositionRebalanceJob(
+            TaskListRepository taskListRepository,
+            TaskRepository taskRepository,
+            TransactionTemplate transactionTemplate,
+            JobLeases jobLeases,
+            @Value("${task-tracker.ordering.rebalance-lists-per-run:100}") int listsPerRun,
+            @Value("${task-tracker.ordering.rebalance-lease:5m}") Duration leaseDuration) {
+        this.taskListRepository = taskListRepository;
+        this.taskRepository = taskRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.jobLeases = jobLeases;
+        this.listsPerRun = listsPerRun;
+        this.leaseDuration = leaseDuration;
+    }
+
+    @Scheduled(initialDelayString = "${task-tracker.ordering.rebalance-interval:1m}",
+            fixedDelayString = "${task-tracker.ordering.rebalance-interval:1m}")
+    public void rebalanceRequestedTaskLists() {
+        if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+            return;
+        }
+        try {
+            for (UUID taskListId : taskListRepository.findRebalanceRequested(Limit.of(listsPerRun))) {
+                if (!jobLeases.tryAcquire(LEASE_NAME, leaseDuration)) {
+                    return;
+                }
+                Integer rebalanced = transactionTemplate.execute(status -> {
+                    taskListRepository.clearRebalanceRequest(taskListId);
+                    return taskRepository.rebalancePositions(taskListId);
+                });
+                log.info("Rebalanced positions of {} tasks in task list {}", rebalanced, taskListId);
+            }
+        } finally {
+            jobLeases.release(LEASE_NAME);
+        }
+    }
+}
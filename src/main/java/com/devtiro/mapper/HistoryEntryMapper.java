@@ -0,0 +1,8 @@
+package com.devtiro.mapper;
+
+import com.devtiro.domain.dto.HistoryEntryDto;
+import com.devtiro.domain.entities.HistoryEntry;
+
+public interface HistoryEntryMapper {
+    HistoryEntryDto toDto(HistoryEntry historyEntry);
+}
@@ -0,0 +1,10 @@
+package com.devtiro.mapper;
+
+import com.devtiro.domain.dto.RecurringTaskTemplateDto;
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+
+public interface RecurringTaskTemplateMapper {
+    RecurringTaskTemplate fromDto(RecurringTaskTemplateDto templateDto);
+
+    RecurringTaskTemplateDto toDto(RecurringTaskTemplate template);
+}
@@ -0,0 +1,52 @@
+package com.devtiro.mapper.impl;
+
+import com.devtiro.domain.dto.HistoryEntryDto;
+import com.devtiro.domain.entities.HistoryEntry;
+import com.devtiro.mapper.HistoryEntryMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class HistoryEntryMapperImpl implements HistoryEntryMapper {
+
+    private static final TypeReference<LinkedHashMap<String, List<String>>> CHANGES_TYPE = new TypeReference<>() {
+    };
+
+    private final ObjectMapper objectMapper;
+
+    public HistoryEntryMapperImpl(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public HistoryEntryDto toDto(HistoryEntry historyEntry) {
+        return new HistoryEntryDto(
+                historyEntry.getEntityType(),
+                historyEntry.getEntityId(),
+                historyEntry.getRevision(),
+                historyEntry.getChangeType(),
+                changes(historyEntry.getChanges()),
+                historyEntry.getChangedAt()
+        );
+    }
+
+    /**
+     * Expands the stored {@code [old, new]} pairs.
+     */
+    private Map<String, HistoryEntryDto.Change> changes(String changes) {
+        Map<String, HistoryEntryDto.Change> result = new LinkedHashMap<>();
+        try {
+            objectMapper.readValue(changes, CHANGES_TYPE).forEach((field, change) ->
+                    result.put(field, new HistoryEntryDto.Change(change.get(0), change.get(1))));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable history entry", ex);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package com.devtiro.mapper.impl;
+
+import com.devtiro.domain.dto.RecurringTaskTemplateDto;
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+import com.devtiro.mapper.RecurringTaskTemplateMapper;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+public class RecurringTaskTemplateMapperImpl implements RecurringTaskTemplateMapper {
+    @Override
+    public RecurringTaskTemplate fromDto(RecurringTaskTemplateDto templateDto) {
+        return new RecurringTaskTemplate(
+                templateDto.id(),
+                templateDto.title(),
+                templateDto.description(),
+                templateDto.priority(),
+                templateDto.frequency(),
+                Optional.ofNullable(templateDto.interval()).orElse(1),
+                templateDto.startsAt(),
+                templateDto.endsAt(),
+                null,
+                null,
+                null
+        );
+    }
+
+    @Override
+    public RecurringTaskTemplateDto toDto(RecurringTaskTemplate template) {
+        return new RecurringTaskTemplateDto(
+                template.getId(),
+                template.getTitle(),
+                template.getDescription(),
+                template.getPriority(),
+                template.getFrequency(),
+                template.getInterval(),
+                template.getStartsAt(),
+                template.getEndsAt(),
+                template.getNextOccurrence()
+        );
+    }
+}
@@ -0,0 +1,114 @@
+package com.devtiro.ordering;
+
+/**
+ * Lexicographic rank keys over the digits {@code [0-9a-z]}, used to order tasks so that moving one
+ * only rewrites its own key.
+ * <p>
+ * A key is a fixed width integer part followed by a fraction. Appending after the last key or
+ * prepending before the first steps the integer part by one, so keys created at either end stay
+ * {@value #INTEGER_WIDTH} + 1 characters long. Only keys placed between two neighbours grow, by about
+ * one character per five moves into the same gap, until the list is rebalanced. Keys never end in
+ * {@code 0}, which guarantees there is always room for another key in front of them.
+ */
+public final class RankKeys {
+
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITS.length();
+    private static final int INTEGER_WIDTH = 9;
+    private static final char MIDDLE = 'i';
+    private static final String FIRST = MIDDLE + "0".repeat(INTEGER_WIDTH - 1) + MIDDLE;
+
+    private RankKeys() {
+    }
+
+    /**
+     * Returns a key ordered after {@code before} and before {@code after}. Either bound may be
+     * {@code null}, meaning the start or the end of the list.
+     */
+    public static String between(String before, String after) {
+        if (null == before && null == after) {
+            return FIRST;
+        }
+        if (null == before) {
+            return before(after);
+        }
+        if (null == after) {
+            return after(before);
+        }
+        if (before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank key " + before + " is not before " + after);
+        }
+        return midpoint(before, after);
+    }
+
+    private static String after(String key) {
+        char[] integer = integerPart(key);
+        for (int i = integer.length - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(integer[i]);
+            if (digit < BASE - 1) {
+                integer[i] = DIGITS.charAt(digit + 1);
+                return new String(integer) + MIDDLE;
+            }
+            integer[i] = DIGITS.charAt(0);
+        }
+        // The integer part is exhausted, continue in the fraction
+        return midpoint(key, null);
+    }
+
+    private static String before(String key) {
+        char[] integer = integerPart(key);
+        for (int i = integer.length - 1; i >= 0; i--) {
+            int digit = DIGITS.indexOf(integer[i]);
+            if (digit > 0) {
+                integer[i] = DIGITS.charAt(digit - 1);
+                return new String(integer) + MIDDLE;
+            }
+            integer[i] = DIGITS.charAt(BASE - 1);
+        }
+        return midpoint("", key);
+    }
+
+    /**
+     * The first {@value #INTEGER_WIDTH} characters, padded with zeros for keys shortened by
+     * {@link #midpoint}.
+     */
+    private static char[] integerPart(String key) {
+        char[] integer = new char[INTEGER_WIDTH];
+        for (int i = 0; i < INTEGER_WIDTH; i++) {
+            integer[i] = i < key.length() ? key.charAt(i) : DIGITS.charAt(0);
+        }
+        return integer;
+    }
+
+    /**
+     * Shortest key strictly between {@code low} and {@code high}, where an empty {@code low} is the
+     * lowest key and a {@code null} {@code high} is above every key.
+     */
+    private static String midpoint(String low, String high) {
+        if (null != high) {
+            // Keep the common prefix, low is compared as if padded with zeros
+            int common = 0;
+            while (common < high.length() && digitAt(low, common) == DIGITS.indexOf(high.charAt(common))) {
+                common++;
+            }
+            if (common > 0) {
+                return high.substring(0, common)
+                        + midpoint(low.substring(Math.min(common, low.length())), high.substring(common));
+            }
+        }
+
+        int lowDigit = digitAt(low, 0);
+        int highDigit = null == high ? BASE : DIGITS.indexOf(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit) / 2));
+        }
+        if (null != high && high.length() > 1) {
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.isEmpty() ? "" : low.substring(1), null);
+    }
+
+    private static int digitAt(String key, int index) {
+        return index < key.length() ? DIGITS.indexOf(key.charAt(index)) : 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.devtiro.reminders;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical hashed timing wheel. Level {@code i} has {@code wheelSize} buckets of
+ * {@code wheelSize^i} ticks each; a timer sits in the lowest level whose range covers it and
+ * is cascaded to finer levels as time approaches. Buckets are intrusive doubly linked lists and
+ * timers are indexed by key, so schedule and cancel are O(1) regardless of how many timers are
+ * pending. Expired timers are returned by {@link #advanceTo(long)}, at tick granularity and
+ * never before their deadline. All methods are synchronized on the wheel.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] ticksPerSlot;
+    private final Bucket<K>[][] buckets;
+    private final Bucket<K> overdue = new Bucket<>();
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick, at least 2 buckets and 1 level");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.ticksPerSlot = new long[levels];
+        this.buckets = new Bucket[levels][wheelSize];
+        long slotTicks = 1;
+        for (int level = 0; level < levels; level++) {
+            ticksPerSlot[level] = slotTicks;
+            for (int index = 0; index < wheelSize; index++) {
+                buckets[level][index] = new Bucket<>();
+            }
+            slotTicks = Math.multiplyExact(slotTicks, wheelSize);
+        }
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    /**
+     * Schedules {@code key} to expire at {@code deadlineMillis}, replacing any pending timer for the same key.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        Entry<K> existing = entries.remove(key);
+        if (null != existing) {
+            existing.unlink();
+        }
+        // Round up so a timer never fires before its deadline
+        Entry<K> entry = new Entry<>(key, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis));
+        entries.put(key, entry);
+        place(entry);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (null == entry) {
+            return false;
+        }
+        entry.unlink();
+        return true;
+    }
+
+    public synchronized boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Moves the wheel forward to {@code nowMillis} and removes every timer that expired on the way.
+     */
+    public synchronized List<K> advanceTo(long nowMillis) {
+        List<K> expired = new ArrayList<>();
+        drain(overdue, expired);
+
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Coarser levels first, they may refill the finer buckets handled right after
+            for (int level = ticksPerSlot.length - 1; level > 0; level--) {
+                if (currentTick % ticksPerSlot[level] == 0) {
+                    cascade(buckets[level][slotIndex(currentTick, level)]);
+                }
+            }
+            drain(buckets[0][slotIndex(currentTick, 0)], expired);
+            // Timers cascaded down to exactly the current tick land in the overdue bucket
+            drain(overdue, expired);
+        }
+        return expired;
+    }
+
+    private void place(Entry<K> entry) {
+        if (entry.expirationTick <= currentTick) {
+            overdue.add(entry);
+            return;
+        }
+        int topLevel = ticksPerSlot.length - 1;
+        for (int level = 0; level < topLevel; level++) {
+            long slotDistance = entry.expirationTick / ticksPerSlot[level] - currentTick / ticksPerSlot[level];
+            if (slotDistance < wheelSize) {
+                buckets[level][slotIndex(entry.expirationTick, level)].add(entry);
+                return;
+            }
+        }
+        // Beyond the top level range the timer waits in the top level and is re-placed on every cascade
+        buckets[topLevel][slotIndex(entry.expirationTick, topLevel)].add(entry);
+    }
+
+    private void cascade(Bucket<K> bucket) {
+        Entry<K> entry = bucket.detachAll();
+        while (null != entry) {
+            Entry<K> next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void drain(Bucket<K> bucket, List<K> expired) {
+        Entry<K> entry = bucket.detachAll();
+        while (null != entry) {
+            Entry<K> next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            if (entry.expirationTick <= currentTick) {
+                entries.remove(entry.key);
+                expired.add(entry.key);
+            } else {
+                place(entry);
+            }
+            entry = next;
+        }
+    }
+
+    private int slotIndex(long tick, int level) {
+        return (int) Math.floorMod(tick / ticksPerSlot[level], (long) wheelSize);
+    }
+
+    private static final class Entry<K> {
+
+        private final K key;
+        private final long expirationTick;
+        private Bucket<K> bucket;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key, long expirationTick) {
+            this.key = key;
+            this.expirationTick = expirationTick;
+        }
+
+        private void unlink() {
+            if (null != bucket) {
+                bucket.remove(this);
+            }
+        }
+    }
+
+    private static final class Bucket<K> {
+
+        private Entry<K> head;
+
+        private void add(Entry<K> entry) {
+            entry.bucket = this;
+            entry.prev = null;
+            entry.next = head;
+            if (null != head) {
+                head.prev = entry;
+            }
+            head = entry;
+        }
+
+        private void remove(Entry<K> entry) {
+            if (null != entry.prev) {
+                entry.prev.next = entry.next;
+            } else {
+                head = entry.next;
+            }
+            if (null != entry.next) {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * Empties the bucket and returns its former entries as a linked chain.
+         */
+        private Entry<K> detachAll() {
+            Entry<K> chain = head;
+            head = null;
+            for (Entry<K> entry = chain; null != entry; entry = entry.next) {
+                entry.bucket = null;
+            }
+            return chain;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.devtiro.reminders;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "task-tracker.reminders.sink", havingValue = "log", matchIfMissing = true)
+public class LoggingReminderSink implements ReminderSink {
+
+    private static final Logger log = LoggerFactory.getLogger(LoggingReminderSink.class);
+
+    @Override
+    public void remind(TaskReminder reminder) {
+        log.info("Task {} '{}' in list {} is due at {}",
+                reminder.taskId(), reminder.title(), reminder.taskListId(), reminder.dueDate());
+    }
+}
@@ -0,0 +1,363 @@
+package com.devtiro.reminders;
+
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.domain.events.TaskDueDateChangedEvent;
+import com.devtiro.jobs.JobLeases;
+import com.devtiro.repositories.TaskDueDate;
+import com.devtiro.repositories.TaskRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps reminders for open tasks due within {@code task-tracker.reminders.horizon} in a
+ * {@link HierarchicalTimingWheel}. Due timers are re-checked against the database in chunks of
+ * {@code task-tracker.batch-get.chunk-size} before they reach the {@link ReminderSink}. Timers whose
+ * check or delivery failed are put back into the wheel and retried after
+ * {@code task-tracker.reminders.retry-delay}.
+ * <p>
+ * Only the holder of the {@code reminder-dispatcher} lease keeps a wheel and sends reminders. It
+ * loads the window from the due date index when it takes the lease and on every refill, applies the
+ * {@link TaskDueDateChangedEvent}s of its own commits right away and polls for tasks updated on other
+ * instances every {@code task-tracker.reminders.poll-interval}. Whenever it extends the lease it stores
+ * the time up to which every due reminder was sent as the lease's checkpoint. A new holder starts its
+ * window at that checkpoint, or two lease durations in the past if that is earlier, so reminders the
+ * previous holder did not send are sent after a gap of any length, possibly twice, but not lost.
+ * <p>
+ * Rows read from the database can be older than an event applied while the read was running. Tasks
+ * changed by an event during a load are therefore skipped by that load.
+ */
+@Component
+@Lazy(false)
+@ConditionalOnProperty(name = "task-tracker.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class ReminderScheduler {
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int WHEEL_LEVELS = 4;
+    private static final int LOAD_PAGE_SIZE = 10_000;
+    // Databases compare uuids as unsigned bytes, so the all zero uuid sorts first
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+    private static final String LEASE_NAME = "reminder-dispatcher";
+    // Updates committed this long after their updated timestamp are still seen by the next poll
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final TaskRepository taskRepository;
+    private final ReminderSink reminderSink;
+    private final JobLeases jobLeases;
+    private final long tickMillis;
+    private final Duration horizon;
+    private final Duration leaseDuration;
+    private final long retryDelayMillis;
+    private final int chunkSize;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Object wheelLock = new Object();
+    private final Set<UUID> changedDuringLoad = new HashSet<>();
+    // Timers waiting for a retry, with the checkpoint of the tick that first failed to send them
+    private final Map<TaskKey, LocalDateTime> retrying = new HashMap<>();
+    private HierarchicalTimingWheel<TaskKey> wheel;
+    private int runningLoads;
+    private LocalDateTime loadedUntil;
+    private LocalDateTime polledUntil;
+    private LocalDateTime dispatchedUntil;
+    private volatile boolean leader;
+    private long nextLeaseCheckMillis;
+
+    public ReminderScheduler(
+            TaskRepository taskRepository,
+            ReminderSink reminderSink,
+            JobLeases jobLeases,
+            @Value("${task-tracker.reminders.tick:1s}") Duration tick,
+            @Value("${task-tracker.reminders.horizon:7d}") Duration horizon,
+            @Value("${task-tracker.reminders.lease:30s}") Duration leaseDuration,
+            @Value("${task-tracker.reminders.retry-delay:10s}") Duration retryDelay,
+            @Value("${task-tracker.batch-get.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.reminderSink = reminderSink;
+        this.jobLeases = jobLeases;
+        this.tickMillis = tick.toMillis();
+        this.horizon = horizon;
+        this.leaseDuration = leaseDuration;
+        this.retryDelayMillis = retryDelay.toMillis();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Extends the loaded window up to now + horizon, reading only tasks that are not loaded yet.
+     */
+    @Scheduled(initialDelayString = "${task-tracker.reminders.refill-interval:1h}",
+            fixedDelayString = "${task-tracker.reminders.refill-interval:1h}")
+    public synchronized void refill() {
+        if (!leader) {
+            return;
+        }
+        LocalDateTime from;
+        LocalDateTime until = LocalDateTime.now().plus(horizon);
+        synchronized (wheelLock) {
+            from = loadedUntil;
+            // Widened before reading, events for the new range are applied while the pages load
+            loadedUntil = until;
+        }
+
+        LocalDateTime afterDueDate = from;
+        UUID afterId = MIN_UUID;
+        List<TaskDueDate> page;
+        do {
+            LocalDateTime pageAfterDueDate = afterDueDate;
+            UUID pageAfterId = afterId;
+            page = load(() -> taskRepository.findDueDatesAfter(
+                    TaskStatus.OPEN, pageAfterDueDate, pageAfterId, until, Limit.of(LOAD_PAGE_SIZE)));
+            if (!page.isEmpty()) {
+                TaskDueDate last = page.getLast();
+                afterDueDate = last.getDueDate();
+                afterId = last.getId();
+            }
+        } while (page.size() == LOAD_PAGE_SIZE);
+    }
+
+    /**
+     * Schedules open tasks of the loaded window that were created or updated on any instance since
+     * the previous poll.
+     */
+    @Scheduled(fixedDelayString = "${task-tracker.reminders.poll-interval:5s}")
+    public synchronized void pollChanges() {
+        if (!leader) {
+            return;
+        }
+        LocalDateTime since;
+        LocalDateTime until;
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (wheelLock) {
+            since = polledUntil.minus(POLL_OVERLAP);
+            until = loadedUntil;
+            polledUntil = now;
+        }
+        load(() -> taskRepository.findDueDatesUpdatedSince(TaskStatus.OPEN, since, until));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDueDateChanged(TaskDueDateChangedEvent event) {
+        LocalDateTime dueDate = event.dueDate();
+        synchronized (wheelLock) {
+            if (null == wheel) {
+                // Not the lease holder, the holder polls this change
+                return;
+            }
+            if (runningLoads > 0) {
+                changedDuringLoad.add(event.taskId());
+            }
+            TaskKey key = new TaskKey(event.taskListId(), event.taskId());
+            retrying.remove(key);
+            if (null == dueDate || dueDate.isAfter(loadedUntil)) {
+                // Tasks beyond the loaded window are picked up by a later refill
+                wheel.cancel(key);
+            } else {
+                wheel.schedule(key, toEpochMillis(dueDate));
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${task-tracker.reminders.tick:1s}")
+    public void tick() {
+        long nowMillis = System.currentTimeMillis();
+        if (!holdsLease(nowMillis)) {
+            return;
+        }
+
+        List<TaskKey> dueTasks;
+        synchronized (wheelLock) {
+            dueTasks = wheel.advanceTo(nowMillis);
+        }
+
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), zone);
+        for (int start = 0; start < dueTasks.size(); start += chunkSize) {
+            dispatch(dueTasks.subList(start, Math.min(start + chunkSize, dueTasks.size())), now, nowMillis);
+        }
+        synchronized (wheelLock) {
+            dispatchedUntil = retrying.values().stream().min(LocalDateTime::compareTo).orElse(now);
+        }
+    }
+
+    public int pendingReminders() {
+        synchronized (wheelLock) {
+            return null == wheel ? 0 : wheel.size();
+        }
+    }
+
+    @PreDestroy
+    public void releaseLease() {
+        if (leader) {
+            jobLeases.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Takes or extends the lease every third of its duration, not on every tick. Taking it starts a
+     * new wheel, losing it drops the wheel.
+     */
+    private boolean holdsLease(long nowMillis) {
+        if (nowMillis < nextLeaseCheckMillis) {
+            return leader;
+        }
+        nextLeaseCheckMillis = nowMillis + leaseDuration.toMillis() / 3;
+        boolean acquired = jobLeases.tryAcquire(LEASE_NAME, leaseDuration);
+        if (acquired && !leader) {
+            takeOver(nowMillis);
+        } else if (!acquired && leader) {
+            leader = false;
+            synchronized (wheelLock) {
+                wheel = null;
+                retrying.clear();
+            }
+        }
+        if (leader) {
+            LocalDateTime checkpoint;
+            synchronized (wheelLock) {
+                checkpoint = dispatchedUntil;
+            }
+            jobLeases.saveCheckpoint(LEASE_NAME, checkpoint);
+        }
+        return leader;
+    }
+
+    /**
+     * Starts a new wheel and loads it from the previous holder's checkpoint, looking back at least two
+     * lease durations for tasks changed on other instances that the previous holder had not polled yet.
+     */
+    private synchronized void takeOver(long nowMillis) {
+        LocalDateTime now = LocalDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), zone);
+        LocalDateTime lookBack = now.minus(leaseDuration.multipliedBy(2));
+        LocalDateTime from = jobLeases.checkpoint(LEASE_NAME)
+                .filter(checkpoint -> checkpoint.isBefore(lookBack))
+                .orElse(lookBack);
+        synchronized (wheelLock) {
+            wheel = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, WHEEL_LEVELS, nowMillis);
+            loadedUntil = from;
+            polledUntil = now;
+            dispatchedUntil = from;
+        }
+        leader = true;
+        refill();
+    }
+
+    /**
+     * Re-checks one chunk of due timers and sends the reminders of tasks that are still open and due.
+     * Tasks whose due date moved later are put back at it, closed and deleted ones are dropped.
+     */
+    private void dispatch(List<TaskKey> dueTasks, LocalDateTime now, long nowMillis) {
+        Set<UUID> taskListIds = dueTasks.stream().map(TaskKey::taskListId).collect(Collectors.toSet());
+        List<UUID> taskIds = dueTasks.stream().map(TaskKey::taskId).toList();
+        List<TaskDueDate> tasks;
+        try {
+            tasks = taskRepository.findDueDatesByTaskListIdInAndIdIn(TaskStatus.OPEN, taskListIds, taskIds);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to check {} due reminders, retrying: {}", dueTasks.size(), ex.getMessage());
+            dueTasks.forEach(key -> retry(key, nowMillis));
+            return;
+        }
+
+        Set<TaskKey> done = new HashSet<>(dueTasks);
+        for (TaskDueDate task : tasks) {
+            TaskKey key = new TaskKey(task.getTaskListId(), task.getId());
+            if (null == task.getDueDate()) {
+                continue;
+            }
+            if (task.getDueDate().isAfter(now)) {
+                scheduleIfAbsent(key, toEpochMillis(task.getDueDate()));
+                continue;
+            }
+            try {
+                reminderSink.remind(
+                        new TaskReminder(task.getId(), task.getTaskListId(), task.getTitle(), task.getDueDate()));
+            } catch (RuntimeException ex) {
+                log.warn("Failed to send reminder for task {}, retrying: {}", task.getId(), ex.getMessage());
+                done.remove(key);
+                retry(key, nowMillis);
+            }
+        }
+        synchronized (wheelLock) {
+            retrying.keySet().removeAll(done);
+        }
+    }
+
+    /**
+     * Puts the timer back for another attempt, unless an event has rescheduled it meanwhile. Tasks closed
+     * meanwhile are dropped by the next check.
+     */
+    private void retry(TaskKey key, long nowMillis) {
+        synchronized (wheelLock) {
+            if (null != wheel && !wheel.contains(key)) {
+                retrying.putIfAbsent(key, dispatchedUntil);
+                wheel.schedule(key, nowMillis + retryDelayMillis);
+            }
+        }
+    }
+
+    private void scheduleIfAbsent(TaskKey key, long deadlineMillis) {
+        synchronized (wheelLock) {
+            if (null != wheel && !wheel.contains(key)) {
+                wheel.schedule(key, deadlineMillis);
+            }
+        }
+    }
+
+    /**
+     * Schedules the tasks returned by {@code reader}, except those changed by an event while it ran.
+     */
+    private List<TaskDueDate> load(Supplier<List<TaskDueDate>> reader) {
+        synchronized (wheelLock) {
+            runningLoads++;
+        }
+        try {
+            List<TaskDueDate> tasks = reader.get();
+            synchronized (wheelLock) {
+                if (null != wheel) {
+                    for (TaskDueDate task : tasks) {
+                        if (!changedDuringLoad.contains(task.getId())) {
+                            wheel.schedule(new TaskKey(task.getTaskListId(), task.getId()),
+                                    toEpochMillis(task.getDueDate()));
+                        }
+                    }
+                }
+            }
+            return tasks;
+        } finally {
+            synchronized (wheelLock) {
+                if (--runningLoads == 0) {
+                    changedDuringLoad.clear();
+                }
+            }
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Timers carry the task's list, so due tasks are re-checked with the partition key.
+     */
+    private record TaskKey(UUID taskListId, UUID taskId) {
+    }
+}
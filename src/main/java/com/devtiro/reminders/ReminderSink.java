@@ -0,0 +1,11 @@
+package com.devtiro.reminders;
+
+/**
+ * Receives reminders for open tasks whose due date has been reached.
+ * Implementations are selected with {@code task-tracker.reminders.sink}. A reminder whose
+ * delivery throws is retried.
+ */
+public interface ReminderSink {
+
+    void remind(TaskReminder reminder);
+}
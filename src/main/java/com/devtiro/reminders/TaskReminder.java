@@ -0,0 +1,12 @@
+package com.devtiro.reminders;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record TaskReminder(
+        UUID taskId,
+        UUID taskListId,
+        String title,
+        LocalDateTime dueDate
+) {
+}
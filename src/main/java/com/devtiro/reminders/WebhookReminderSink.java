@@ -0,0 +1,32 @@
+package com.devtiro.reminders;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Posts each reminder as JSON to {@code task-tracker.reminders.webhook-url}. Failures are thrown,
+ * so the {@link ReminderScheduler} retries the reminder.
+ */
+@Component
+@ConditionalOnProperty(name = "task-tracker.reminders.sink", havingValue = "webhook")
+public class WebhookReminderSink implements ReminderSink {
+
+    private final RestClient restClient;
+
+    public WebhookReminderSink(RestClient.Builder restClientBuilder,
+                               @Value("${task-tracker.reminders.webhook-url}") String webhookUrl) {
+        this.restClient = restClientBuilder.baseUrl(webhookUrl).build();
+    }
+
+    @Override
+    public void remind(TaskReminder reminder) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(reminder)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
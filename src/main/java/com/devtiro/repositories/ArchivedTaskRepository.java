@@ -0,0 +1,48 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.ArchivedTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, UUID> {
+
+    @Query("select a from ArchivedTask a where a.taskListId = :taskListId "
+            + "and exists (select tl.id from TaskList tl where tl.id = :taskListId and tl.deletedAt is null)")
+    List<ArchivedTask> findByTaskListId(@Param("taskListId") UUID taskListId);
+
+    @Query("select a from ArchivedTask a where a.taskListId = :taskListId and a.id = :id "
+            + "and exists (select tl.id from TaskList tl where tl.id = :taskListId and tl.deletedAt is null)")
+    Optional<ArchivedTask> findByTaskListIdAndId(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    /**
+     * Copies the tasks with the revision of the {@code ARCHIVED} history entry recorded for them. The
+     * lists of the tasks are passed along with their ids, so only the partitions of those lists are read.
+     */
+    @Modifying
+    @Query(value = "insert into archived_tasks "
+            + "(id, title, description, due_date, status, priority, task_list_id, created, updated, archived, revision) "
+            + "select id, title, description, due_date, status, priority, task_list_id, created, updated, :archived, revision + 1 "
+            + "from tasks where task_list_id in :taskListIds and id in :ids", nativeQuery = true)
+    int copyFromTasks(@Param("taskListIds") Collection<UUID> taskListIds,
+                      @Param("ids") Collection<UUID> ids,
+                      @Param("archived") LocalDateTime archived);
+
+    // The two queries below also see soft deleted lists, they are only meant for the purge job
+    @Query("select a.id as id, a.revision as revision from ArchivedTask a where a.taskListId = :taskListId")
+    List<TaskRevision> findRevisionsForPurge(@Param("taskListId") UUID taskListId, Limit limit);
+
+    @Modifying
+    @Query("delete from ArchivedTask a where a.taskListId = :taskListId and a.id in :ids")
+    int purgeByTaskListIdAndIdIn(@Param("taskListId") UUID taskListId, @Param("ids") Collection<UUID> ids);
+}
@@ -0,0 +1,44 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.HistoryEntityType;
+import com.devtiro.domain.entities.HistoryEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface HistoryEntryRepository extends JpaRepository<HistoryEntry, HistoryEntry.Key> {
+
+    @Query("select h from HistoryEntry h where h.entityType = :entityType and h.entityId = :entityId "
+            + "and h.taskListId = :taskListId order by h.revision")
+    List<HistoryEntry> findByEntity(@Param("entityType") HistoryEntityType entityType,
+                                    @Param("entityId") UUID entityId,
+                                    @Param("taskListId") UUID taskListId);
+
+    /**
+     * Changes of a list and of all its tasks, oldest first.
+     */
+    @Query("select h from HistoryEntry h where h.taskListId = :taskListId and h.changedAt >= :since "
+            + "order by h.changedAt, h.entityId, h.revision")
+    List<HistoryEntry> findByTaskListIdSince(@Param("taskListId") UUID taskListId,
+                                             @Param("since") LocalDateTime since,
+                                             Limit limit);
+
+    /**
+     * Entries to replay on top of a snapshot taken at {@code afterRevision}.
+     */
+    @Query("select h from HistoryEntry h where h.entityType = :entityType and h.entityId = :entityId "
+            + "and h.taskListId = :taskListId and h.revision > :afterRevision and h.changedAt <= :asOf "
+            + "order by h.revision")
+    List<HistoryEntry> findForReplay(@Param("entityType") HistoryEntityType entityType,
+                                     @Param("entityId") UUID entityId,
+                                     @Param("taskListId") UUID taskListId,
+                                     @Param("afterRevision") long afterRevision,
+                                     @Param("asOf") LocalDateTime asOf);
+}
@@ -0,0 +1,25 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.HistoryEntityType;
+import com.devtiro.domain.entities.HistorySnapshot;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface HistorySnapshotRepository extends JpaRepository<HistorySnapshot, UUID> {
+
+    @Query("select s from HistorySnapshot s where s.entityType = :entityType and s.entityId = :entityId "
+            + "and s.taskListId = :taskListId and s.takenAt <= :asOf order by s.takenAt desc, s.revision desc")
+    List<HistorySnapshot> findLatest(@Param("entityType") HistoryEntityType entityType,
+                                     @Param("entityId") UUID entityId,
+                                     @Param("taskListId") UUID taskListId,
+                                     @Param("asOf") LocalDateTime asOf,
+                                     Limit limit);
+}
@@ -0,0 +1,49 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.JobLease;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    /**
+     * Takes the lease if it expired or extends it if {@code owner} already holds it. The conditional
+     * update is atomic, so at most one node gets a row count of 1.
+     */
+    @Modifying
+    @Query("update JobLease l set l.owner = :owner, l.expiresAt = :expiresAt "
+            + "where l.name = :name and (l.expiresAt < :now or l.owner = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("update JobLease l set l.owner = null, l.expiresAt = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    /**
+     * Stores the job's progress, only while {@code owner} holds the lease.
+     */
+    @Modifying
+    @Query("update JobLease l set l.checkpoint = :checkpoint where l.name = :name and l.owner = :owner")
+    int saveCheckpoint(@Param("name") String name, @Param("owner") String owner,
+                       @Param("checkpoint") LocalDateTime checkpoint);
+
+    @Query("select l.checkpoint from JobLease l where l.name = :name")
+    Optional<LocalDateTime> findCheckpoint(@Param("name") String name);
+
+    /**
+     * Reads the row with a write lock held until the current transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select l from JobLease l where l.name = :name")
+    Optional<JobLease> lockByName(@Param("name") String name);
+}
@@ -0,0 +1,44 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RecurringTaskTemplateRepository extends JpaRepository<RecurringTaskTemplate, UUID> {
+
+    @Query("select t from RecurringTaskTemplate t join t.taskList tl "
+            + "where tl.id = :taskListId and tl.deletedAt is null order by t.created")
+    List<RecurringTaskTemplate> findByTaskListId(@Param("taskListId") UUID taskListId);
+
+    @Query("select t from RecurringTaskTemplate t join t.taskList tl "
+            + "where tl.id = :taskListId and t.id = :id and tl.deletedAt is null")
+    Optional<RecurringTaskTemplate> findByTaskListIdAndId(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    /**
+     * Templates with an occurrence at or before {@code until}, earliest first so a capped run
+     * always makes progress on the most urgent schedules.
+     */
+    @Query("select t from RecurringTaskTemplate t join fetch t.taskList tl "
+            + "where t.nextOccurrence <= :until and tl.deletedAt is null order by t.nextOccurrence, t.id")
+    List<RecurringTaskTemplate> findDue(@Param("until") LocalDateTime until, Limit limit);
+
+    @Modifying
+    @Query("delete from RecurringTaskTemplate t where t.taskList.id = :taskListId and t.id = :id "
+            + "and exists (select tl.id from TaskList tl where tl.id = :taskListId and tl.deletedAt is null)")
+    int deleteByTaskListIdAndId(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    // Only meant for the purge job, the list is already soft deleted
+    @Modifying
+    @Query(value = "delete from recurring_task_templates where task_list_id = :taskListId", nativeQuery = true)
+    int purgeByTaskListId(@Param("taskListId") UUID taskListId);
+}
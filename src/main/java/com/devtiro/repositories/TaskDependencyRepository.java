@@ -0,0 +1,46 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.entities.TaskDependency;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, UUID> {
+
+    boolean existsByBlockerIdAndBlockedId(UUID blockerId, UUID blockedId);
+
+    boolean existsByBlockerIdInOrBlockedIdIn(Collection<UUID> blockerIds, Collection<UUID> blockedIds);
+
+    /**
+     * 1 if {@code toId} can be reached from {@code fromId} along committed edges, 0 otherwise. Walks
+     * the (blocker_id, blocked_id) index from {@code fromId} only.
+     */
+    @Query(value = "with recursive reachable (id) as ("
+            + "select blocked_id from task_dependencies where blocker_id = :fromId "
+            + "union "
+            + "select d.blocked_id from task_dependencies d join reachable r on d.blocker_id = r.id) "
+            + "select count(*) from reachable where id = :toId", nativeQuery = true)
+    long countReachable(@Param("fromId") UUID fromId, @Param("toId") UUID toId);
+
+    /**
+     * Keyset paged read of all edges, used to build the in-memory graph.
+     */
+    @Query("select d from TaskDependency d where d.id > :afterId order by d.id")
+    List<TaskDependency> findAfter(@Param("afterId") UUID afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.blockerId = :blockerId and d.blockedId = :blockedId")
+    int deleteByBlockerIdAndBlockedId(@Param("blockerId") UUID blockerId, @Param("blockedId") UUID blockedId);
+
+    @Modifying
+    @Query("delete from TaskDependency d where d.blockerId in :taskIds or d.blockedId in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<UUID> taskIds);
+}
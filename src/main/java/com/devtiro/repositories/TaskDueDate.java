@@ -0,0 +1,15 @@
+package com.devtiro.repositories;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface TaskDueDate {
+
+    UUID getId();
+
+    UUID getTaskListId();
+
+    String getTitle();
+
+    LocalDateTime getDueDate();
+}
@@ -1,11 +1,41 @@
 package com.devtiro.repositories;
 
 import com.devtiro.domain.entities.TaskList;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface TaskListRepository extends JpaRepository<TaskList, UUID> {
+public interface TaskListRepository extends JpaRepository<TaskList, UUID>, TaskListRepositoryCustom {
+
+    @Modifying
+    @Query("update TaskList tl set tl.deletedAt = :deletedAt, tl.revision = tl.revision + 1 where tl.id = :id and tl.deletedAt is null")
+    int softDeleteById(@Param("id") UUID id, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("update TaskList tl set tl.rebalanceRequestedAt = :requestedAt where tl.id = :id and tl.rebalanceRequestedAt is null")
+    int requestRebalance(@Param("id") UUID id, @Param("requestedAt") LocalDateTime requestedAt);
+
+    @Query("select tl.id from TaskList tl where tl.rebalanceRequestedAt is not null order by tl.rebalanceRequestedAt")
+    List<UUID> findRebalanceRequested(Limit limit);
+
+    @Modifying
+    @Query("update TaskList tl set tl.rebalanceRequestedAt = null where tl.id = :id")
+    int clearRebalanceRequest(@Param("id") UUID id);
+
+    // Native queries below bypass the deleted_at restriction on TaskList, they are only meant for the purge job
+    @Query(value = "select * from task_lists where deleted_at is not null order by deleted_at limit :limit",
+            nativeQuery = true)
+    List<TaskList> findDeleted(@Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "delete from task_lists where id = :id and deleted_at is not null", nativeQuery = true)
+    int purgeById(@Param("id") UUID id);
 }
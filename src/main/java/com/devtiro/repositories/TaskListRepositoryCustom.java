@@ -0,0 +1,16 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.dto.TaskListField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface TaskListRepositoryCustom {
+
+    List<Map<String, Object>> findFields(Set<TaskListField> fields);
+
+    Optional<Map<String, Object>> findFieldsById(UUID id, Set<TaskListField> fields);
+}
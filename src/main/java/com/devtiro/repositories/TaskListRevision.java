@@ -0,0 +1,8 @@
+package com.devtiro.repositories;
+
+import java.util.UUID;
+
+public interface TaskListRevision extends TaskRevision {
+
+    UUID getTaskListId();
+}
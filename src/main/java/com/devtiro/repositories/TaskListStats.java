@@ -0,0 +1,12 @@
+package com.devtiro.repositories;
+
+import java.util.UUID;
+
+public interface TaskListStats {
+
+    UUID getTaskListId();
+
+    long getTaskCount();
+
+    long getClosedCount();
+}
@@ -1,17 +1,167 @@
 package com.devtiro.repositories;
 
 import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * Per-list queries filter on {@code t.taskListId}, the partition key column of tasks, so PostgreSQL prunes them
+ * to a single hash partition. The path {@code t.taskList.id} is not used: in a query that joins the list it is
+ * rendered as the id of the joined task_lists row. Queries by id alone, like {@link #findByIdIn}, probe every
+ * partition.
+ */
 @Repository
-public interface TaskRepository extends JpaRepository<Task, UUID> {
+public interface TaskRepository extends JpaRepository<Task, UUID>, TaskRepositoryCustom {
 
-    List<Task> findByTaskListId(UUID taskListId);
-    Optional<Task> findByTaskListIdAndId(UUID taskListId, UUID id);
-    void deleteByTaskListIdAndId(UUID taskListId, UUID id);
+    @Query("select t from Task t join t.taskList tl where t.taskListId = :taskListId and tl.deletedAt is null "
+            + "order by t.position, t.id")
+    List<Task> findByTaskListId(@Param("taskListId") UUID taskListId);
+
+    @Query("select t from Task t join t.taskList tl where t.taskListId = :taskListId and t.id = :id and tl.deletedAt is null")
+    Optional<Task> findByTaskListIdAndId(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    @Query("select t from Task t join t.taskList tl where t.taskListId in :taskListIds and tl.deletedAt is null "
+            + "order by t.position, t.id")
+    List<Task> findByTaskListIdIn(@Param("taskListIds") Collection<UUID> taskListIds);
+
+    @Query("select t.taskListId as taskListId, count(t) as taskCount, "
+            + "sum(case when t.status = com.devtiro.domain.entities.TaskStatus.CLOSED then 1 else 0 end) as closedCount "
+            + "from Task t where t.taskListId in :taskListIds group by t.taskListId")
+    List<TaskListStats> findStatsByTaskListIdIn(@Param("taskListIds") Collection<UUID> taskListIds);
+
+    /**
+     * Keyset paged read of open tasks due in ({@code afterDueDate}, {@code until}), ordered by due date and id.
+     */
+    @Query("select t.id as id, t.taskListId as taskListId, t.title as title, t.dueDate as dueDate "
+            + "from Task t join t.taskList tl "
+            + "where t.status = :status and tl.deletedAt is null and t.dueDate < :until "
+            + "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) "
+            + "order by t.dueDate, t.id")
+    List<TaskDueDate> findDueDatesAfter(
+            @Param("status") TaskStatus status,
+            @Param("afterDueDate") LocalDateTime afterDueDate,
+            @Param("afterId") UUID afterId,
+            @Param("until") LocalDateTime until,
+            Limit limit);
+
+    /**
+     * Tasks created or updated at or after {@code since} that are due by {@code until}, overdue ones
+     * included. Served by the (status, updated) index.
+     */
+    @Query("select t.id as id, t.taskListId as taskListId, t.title as title, t.dueDate as dueDate "
+            + "from Task t join t.taskList tl "
+            + "where t.status = :status and t.updated >= :since and t.dueDate <= :until and tl.deletedAt is null")
+    List<TaskDueDate> findDueDatesUpdatedSince(@Param("status") TaskStatus status,
+                                               @Param("since") LocalDateTime since,
+                                               @Param("until") LocalDateTime until);
+
+    /**
+     * The lists of the tasks are passed along with their ids, so only the partitions of those lists are read.
+     */
+    @Query("select t.id as id, t.taskListId as taskListId, t.title as title, t.dueDate as dueDate "
+            + "from Task t join t.taskList tl "
+            + "where t.taskListId in :taskListIds and t.id in :ids and t.status = :status and tl.deletedAt is null")
+    List<TaskDueDate> findDueDatesByTaskListIdInAndIdIn(@Param("status") TaskStatus status,
+                                                       @Param("taskListIds") Collection<UUID> taskListIds,
+                                                       @Param("ids") Collection<UUID> ids);
+
+    @Query("select t from Task t join t.taskList tl where t.id in :ids and tl.deletedAt is null")
+    List<Task> findByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select t.id as id, t.revision as revision from Task t join t.taskList tl "
+            + "where t.taskListId = :taskListId and t.id in :ids and tl.deletedAt is null")
+    List<TaskRevision> findRevisionsByTaskListIdAndIdIn(@Param("taskListId") UUID taskListId, @Param("ids") Collection<UUID> ids);
+
+    @Query("select t.id as id, t.revision as revision from Task t join t.taskList tl "
+            + "where t.taskListId = :taskListId and t.status = :status and tl.deletedAt is null")
+    List<TaskRevision> findRevisionsByTaskListIdAndStatus(@Param("taskListId") UUID taskListId, @Param("status") TaskStatus status);
+
+    @Query("select max(t.position) from Task t where t.taskListId = :taskListId")
+    Optional<String> findLastPosition(@Param("taskListId") UUID taskListId);
+
+    @Query("select t.position from Task t join t.taskList tl "
+            + "where t.taskListId = :taskListId and t.id = :id and tl.deletedAt is null")
+    Optional<String> findPosition(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    /**
+     * Positions following {@code position} in the list, ignoring the task with id {@code excludedId}.
+     */
+    @Query("select t.position from Task t where t.taskListId = :taskListId and t.position > :position "
+            + "and t.id <> :excludedId order by t.position")
+    List<String> findPositionsAfter(
+            @Param("taskListId") UUID taskListId,
+            @Param("position") String position,
+            @Param("excludedId") UUID excludedId,
+            Limit limit);
+
+    /**
+     * Positions preceding {@code position} in the list, nearest first, ignoring the task with id {@code excludedId}.
+     */
+    @Query("select t.position from Task t where t.taskListId = :taskListId and t.position < :position "
+            + "and t.id <> :excludedId order by t.position desc")
+    List<String> findPositionsBefore(
+            @Param("taskListId") UUID taskListId,
+            @Param("position") String position,
+            @Param("excludedId") UUID excludedId,
+            Limit limit);
+
+    @Modifying
+    @Query("update Task t set t.position = :position where t.taskListId = :taskListId and t.id = :id")
+    int updatePosition(@Param("taskListId") UUID taskListId, @Param("id") UUID id, @Param("position") String position);
+
+    /**
+     * Rewrites every position in the list to the fixed width keys of the V7 backfill, keeping the
+     * current order. One statement, so the list is never seen partially rebalanced.
+     */
+    @Modifying
+    @Query(value = "merge into tasks t "
+            + "using (select id, 'i' || lpad(cast(row_number() over (order by position, id) as varchar(8)), 8, '0') || 'i' as position "
+            + "from tasks where task_list_id = :taskListId) ranked "
+            + "on t.task_list_id = :taskListId and t.id = ranked.id "
+            + "when matched then update set position = ranked.position", nativeQuery = true)
+    int rebalancePositions(@Param("taskListId") UUID taskListId);
+
+    @Modifying
+    @Query("delete from Task t where t.taskListId = :taskListId and t.id = :id "
+            + "and exists (select tl.id from TaskList tl where tl.id = :taskListId and tl.deletedAt is null)")
+    int deleteByTaskListIdAndId(@Param("taskListId") UUID taskListId, @Param("id") UUID id);
+
+    @Modifying
+    @Query("delete from Task t where t.taskListId = :taskListId and t.id in :ids "
+            + "and exists (select tl.id from TaskList tl where tl.id = :taskListId and tl.deletedAt is null)")
+    int deleteByTaskListIdAndIdIn(@Param("taskListId") UUID taskListId, @Param("ids") Collection<UUID> ids);
+
+    // The two queries below do not join TaskList and so also see soft deleted lists, they are only meant for the purge job
+    @Query("select t.id as id, t.revision as revision from Task t where t.taskListId = :taskListId")
+    List<TaskRevision> findRevisionsForPurge(@Param("taskListId") UUID taskListId, Limit limit);
+
+    @Modifying
+    @Query("delete from Task t where t.taskListId = :taskListId and t.id in :ids")
+    int purgeByTaskListIdAndIdIn(@Param("taskListId") UUID taskListId, @Param("ids") Collection<UUID> ids);
+
+    /**
+     * Tasks without a list are left in place, archived tasks and their history always belong to one.
+     */
+    @Query("select t.id as id, t.taskListId as taskListId, t.revision as revision from Task t "
+            + "where t.status = :status and t.updated < :updatedBefore and t.taskListId is not null")
+    List<TaskListRevision> findRevisionsByStatusAndUpdatedBefore(
+            @Param("status") TaskStatus status,
+            @Param("updatedBefore") LocalDateTime updatedBefore,
+            Pageable pageable);
+
+    @Modifying
+    @Query("delete from Task t where t.taskListId in :taskListIds and t.id in :ids")
+    int deleteByTaskListIdInAndIdIn(@Param("taskListIds") Collection<UUID> taskListIds, @Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,16 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.dto.TaskField;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public interface TaskRepositoryCustom {
+
+    List<Map<String, Object>> findFieldsByTaskListId(UUID taskListId, Set<TaskField> fields);
+
+    Optional<Map<String, Object>> findFieldsByTaskListIdAndId(UUID taskListId, UUID id, Set<TaskField> fields);
+}
@@ -0,0 +1,10 @@
+package com.devtiro.repositories;
+
+import java.util.UUID;
+
+public interface TaskRevision {
+
+    UUID getId();
+
+    long getRevision();
+}
@@ -0,0 +1,114 @@
+package com.devtiro.repositories.impl;
+
+import com.devtiro.domain.dto.TaskListField;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.repositories.TaskListRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Selects only the requested task list columns as scalar tuples. {@code count} and
+ * {@code progress} are computed with a grouped join instead of loading the tasks.
+ */
+public class TaskListRepositoryCustomImpl implements TaskListRepositoryCustom {
+
+    private static final String TASK_COUNT = "taskCount";
+    private static final String CLOSED_COUNT = "closedCount";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<TaskListField> fields) {
+        return entityManager.createQuery(buildQuery(null, fields))
+                .getResultStream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsById(UUID id, Set<TaskListField> fields) {
+        return entityManager.createQuery(buildQuery(id, fields))
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private CriteriaQuery<Tuple> buildQuery(UUID id, Set<TaskListField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<TaskList> taskList = query.from(TaskList.class);
+
+        List<Selection<?>> selections = new ArrayList<>();
+        List<Expression<?>> groupBy = new ArrayList<>();
+        for (TaskListField field : fields) {
+            if (TaskListField.COUNT != field && TaskListField.PROGRESS != field) {
+                Expression<?> column = taskList.get(field.getApiName());
+                selections.add(column.alias(field.getApiName()));
+                groupBy.add(column);
+            }
+        }
+
+        if (fields.contains(TaskListField.COUNT) || fields.contains(TaskListField.PROGRESS)) {
+            Join<TaskList, Task> tasks = taskList.join("tasks", JoinType.LEFT);
+            if (null != id) {
+                // Repeated on the partition key, so PostgreSQL only joins the list's partition
+                tasks.on(cb.equal(tasks.get("taskListId"), id));
+            }
+            selections.add(cb.count(tasks.get("id")).alias(TASK_COUNT));
+            selections.add(cb.sum(cb.<Integer>selectCase()
+                    .when(cb.equal(tasks.get("status"), TaskStatus.CLOSED), 1)
+                    .otherwise(0)).alias(CLOSED_COUNT));
+            query.groupBy(groupBy);
+        }
+
+        query.multiselect(selections);
+        if (null != id) {
+            query.where(cb.equal(taskList.get("id"), id));
+        }
+        return query;
+    }
+
+    private Map<String, Object> toMap(Tuple tuple, Set<TaskListField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TaskListField field : fields) {
+            switch (field) {
+                case COUNT -> row.put(field.getApiName(), taskCount(tuple).intValue());
+                case PROGRESS -> row.put(field.getApiName(), progress(tuple));
+                default -> row.put(field.getApiName(), tuple.get(field.getApiName()));
+            }
+        }
+        return row;
+    }
+
+    private Long taskCount(Tuple tuple) {
+        return tuple.get(TASK_COUNT, Long.class);
+    }
+
+    private Double progress(Tuple tuple) {
+        long taskCount = taskCount(tuple);
+        if (taskCount == 0) {
+            return null;
+        }
+        Number closedCount = tuple.get(CLOSED_COUNT, Number.class);
+        return closedCount.doubleValue() / taskCount;
+    }
+}
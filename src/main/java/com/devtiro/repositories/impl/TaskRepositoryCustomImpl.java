@@ -0,0 +1,86 @@
+package com.devtiro.repositories.impl;
+
+import com.devtiro.domain.dto.TaskField;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.repositories.TaskRepositoryCustom;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Selects only the requested columns as scalar tuples, so no {@link Task} entities are
+ * hydrated or tracked by the persistence context. Tasks of soft deleted lists are excluded. The list is
+ * matched on the partition key {@code taskListId}, see {@link com.devtiro.repositories.TaskRepository}.
+ */
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Map<String, Object>> findFieldsByTaskListId(UUID taskListId, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        Join<Task, TaskList> taskList = task.join("taskList");
+
+        query.multiselect(selections(task, fields))
+                .where(
+                        cb.equal(task.get("taskListId"), taskListId),
+                        cb.isNull(taskList.get("deletedAt"))
+                )
+                .orderBy(cb.asc(task.get("position")), cb.asc(task.get("id")));
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .map(tuple -> toMap(tuple, fields))
+                .toList();
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findFieldsByTaskListIdAndId(UUID taskListId, UUID id, Set<TaskField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        Join<Task, TaskList> taskList = task.join("taskList");
+
+        query.multiselect(selections(task, fields))
+                .where(
+                        cb.equal(task.get("taskListId"), taskListId),
+                        cb.equal(task.get("id"), id),
+                        cb.isNull(taskList.get("deletedAt"))
+                );
+
+        return entityManager.createQuery(query)
+                .getResultStream()
+                .findFirst()
+                .map(tuple -> toMap(tuple, fields));
+    }
+
+    private List<Selection<?>> selections(Root<Task> task, Set<TaskField> fields) {
+        return fields.stream()
+                .<Selection<?>>map(field -> task.get(field.getApiName()).alias(field.getApiName()))
+                .toList();
+    }
+
+    private Map<String, Object> toMap(Tuple tuple, Set<TaskField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            row.put(field.getApiName(), tuple.get(field.getApiName()));
+        }
+        return row;
+    }
+}
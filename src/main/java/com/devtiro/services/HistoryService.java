@@ -0,0 +1,42 @@
+package com.devtiro.services;
+
+import com.devtiro.domain.entities.HistoryEntry;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.repositories.TaskRevision;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records field level changes of tasks and task lists in the caller's transaction and rebuilds
+ * their state at a point in time.
+ */
+public interface HistoryService {
+
+    /**
+     * State of an entity before it is modified, passed back to the matching {@code record...Updated}.
+     */
+    record State(Map<String, String> fields, LocalDateTime updated) {
+    }
+
+    State captureTask(Task task);
+    State captureTaskList(TaskList taskList);
+
+    void recordTasksCreated(Collection<Task> tasks);
+    void recordTaskUpdated(State before, Task task);
+    void recordTasksDeleted(UUID taskListId, Collection<? extends TaskRevision> tasks);
+    void recordTasksArchived(UUID taskListId, Collection<? extends TaskRevision> tasks);
+    void recordTaskListCreated(TaskList taskList);
+    void recordTaskListUpdated(State before, TaskList taskList);
+    void recordTaskListDeleted(TaskList taskList);
+
+    List<HistoryEntry> getTaskHistory(UUID taskListId, UUID taskId);
+    List<HistoryEntry> getTaskListHistory(UUID taskListId, LocalDateTime since);
+    Optional<Task> getTaskAsOf(UUID taskListId, UUID taskId, LocalDateTime asOf);
+    Optional<TaskList> getTaskListAsOf(UUID taskListId, LocalDateTime asOf);
+}
@@ -0,0 +1,14 @@
+package com.devtiro.services;
+
+import java.util.function.Supplier;
+
+public interface IdempotencyService {
+
+    /**
+     * Runs {@code action} at most once per {@code scope} and {@code idempotencyKey}.
+     * Retries with the same key receive the stored result, and concurrent duplicates
+     * wait for the in-flight call instead of executing it again. A {@code null} key
+     * disables deduplication.
+     */
+    <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action);
+}
@@ -0,0 +1,14 @@
+package com.devtiro.services;
+
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface RecurringTaskTemplateService {
+    List<RecurringTaskTemplate> listTemplates(UUID taskListId);
+    RecurringTaskTemplate createTemplate(UUID taskListId, RecurringTaskTemplate template);
+    Optional<RecurringTaskTemplate> getTemplate(UUID taskListId, UUID templateId);
+    boolean deleteTemplate(UUID taskListId, UUID templateId);
+}
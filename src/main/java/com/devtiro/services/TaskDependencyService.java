@@ -0,0 +1,16 @@
+package com.devtiro.services;
+
+import com.devtiro.domain.entities.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface TaskDependencyService {
+    void addBlocker(UUID taskListId, UUID taskId, UUID blockerId);
+    boolean removeBlocker(UUID taskListId, UUID taskId, UUID blockerId);
+    List<Task> getBlockers(UUID taskListId, UUID taskId, boolean transitive);
+    List<Task> listUnblockedTasks(UUID taskListId);
+    List<Task> getCriticalPath(UUID taskListId);
+    void removeTasks(Collection<UUID> taskIds);
+}
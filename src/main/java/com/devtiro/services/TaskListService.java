@@ -1,15 +1,20 @@
 package com.devtiro.services;
 
+import com.devtiro.domain.dto.TaskListField;
 import com.devtiro.domain.entities.TaskList;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskListService {
     List<TaskList> listTaskLists();
+    List<Map<String, Object>> listTaskListFields(Set<TaskListField> fields);
     TaskList createTaskLists(TaskList taskList);
     Optional<TaskList> getTaskList(UUID id);
+    Optional<Map<String, Object>> getTaskListFields(UUID id, Set<TaskListField> fields);
     TaskList updateTaskList(UUID taskListId, TaskList taskList);
-    void deleteTaskList(UUID taskListId);
+    boolean deleteTaskList(UUID taskListId);
 }
@@ -1,15 +1,26 @@
 package com.devtiro.services;
 
+import com.devtiro.domain.dto.TaskField;
 import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskStatus;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface TaskService {
-    List<Task> listTasks(UUID taskListId);
+    List<Task> listTasks(UUID taskListId, boolean includeArchived);
+    List<Map<String, Object>> listTaskFields(UUID taskListId, Set<TaskField> fields);
     Task createTask(UUID taskListId, Task task);
-    Optional<Task> getTask(UUID taskListId, UUID taskId);
+    Optional<Task> getTask(UUID taskListId, UUID taskId, boolean includeArchived);
+    Map<UUID, Task> getTasks(Collection<UUID> taskIds);
+    Optional<Map<String, Object>> getTaskFields(UUID taskListId, UUID taskId, Set<TaskField> fields);
     Task updateTask(UUID taskListId, UUID taskId, Task task);
-    void deleteTask(UUID taskListId, UUID taskId);
+    void moveTask(UUID taskListId, UUID taskId, UUID afterTaskId, UUID beforeTaskId);
+    boolean deleteTask(UUID taskListId, UUID taskId);
+    int deleteTasks(UUID taskListId, Collection<UUID> taskIds);
+    int deleteTasksByStatus(UUID taskListId, TaskStatus status);
 }
@@ -0,0 +1,319 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.domain.entities.ChangeType;
+import com.devtiro.domain.entities.HistoryEntityType;
+import com.devtiro.domain.entities.HistoryEntry;
+import com.devtiro.domain.entities.HistorySnapshot;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.repositories.HistoryEntryRepository;
+import com.devtiro.repositories.HistorySnapshotRepository;
+import com.devtiro.repositories.TaskRevision;
+import com.devtiro.services.HistoryService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Service
+public class HistoryServiceImpl implements HistoryService {
+
+    private static final TypeReference<LinkedHashMap<String, String>> STATE_TYPE = new TypeReference<>() {
+    };
+    private static final TypeReference<LinkedHashMap<String, List<String>>> CHANGES_TYPE = new TypeReference<>() {
+    };
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final HistoryEntryRepository historyEntryRepository;
+    private final HistorySnapshotRepository historySnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final int snapshotEvery;
+    private final int maxEntries;
+
+    public HistoryServiceImpl(HistoryEntryRepository historyEntryRepository,
+                              HistorySnapshotRepository historySnapshotRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${task-tracker.history.snapshot-every:20}") int snapshotEvery,
+                              @Value("${task-tracker.history.max-entries:1000}") int maxEntries) {
+        this.historyEntryRepository = historyEntryRepository;
+        this.historySnapshotRepository = historySnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.snapshotEvery = snapshotEvery;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public State captureTask(Task task) {
+        return new State(taskFields(task), task.getUpdated());
+    }
+
+    @Override
+    public State captureTaskList(TaskList taskList) {
+        return new State(taskListFields(taskList), taskList.getUpdated());
+    }
+
+    @Override
+    public void recordTasksCreated(Collection<Task> tasks) {
+        Changes changes = new Changes();
+        for (Task task : tasks) {
+            changes.add(HistoryEntityType.TASK, task.getId(), task.getTaskList().getId(), task.getRevision(),
+                    ChangeType.CREATED, null, taskFields(task), task.getCreated());
+        }
+        changes.save();
+    }
+
+    @Override
+    public void recordTaskUpdated(State before, Task task) {
+        Changes changes = new Changes();
+        Map<String, String> after = taskFields(task);
+        if (before.fields().equals(after)) {
+            return;
+        }
+        changes.addBaseline(HistoryEntityType.TASK, task.getId(), task.getTaskList().getId(), task.getRevision(), before);
+        task.setRevision(task.getRevision() + 1);
+        changes.add(HistoryEntityType.TASK, task.getId(), task.getTaskList().getId(), task.getRevision(),
+                ChangeType.UPDATED, before.fields(), after, task.getUpdated());
+        changes.save();
+    }
+
+    /**
+     * Deletions are bulk statements, so only the id and revision of each removed task are known.
+     */
+    @Override
+    public void recordTasksDeleted(UUID taskListId, Collection<? extends TaskRevision> tasks) {
+        recordWithoutFields(taskListId, tasks, ChangeType.DELETED);
+    }
+
+    /**
+     * Archived tasks keep their last recorded state, an as-of read after the move still returns it.
+     */
+    @Override
+    public void recordTasksArchived(UUID taskListId, Collection<? extends TaskRevision> tasks) {
+        recordWithoutFields(taskListId, tasks, ChangeType.ARCHIVED);
+    }
+
+    @Override
+    public void recordTaskListCreated(TaskList taskList) {
+        Changes changes = new Changes();
+        changes.add(HistoryEntityType.TASK_LIST, taskList.getId(), taskList.getId(), taskList.getRevision(),
+                ChangeType.CREATED, null, taskListFields(taskList), taskList.getCreated());
+        changes.save();
+    }
+
+    @Override
+    public void recordTaskListUpdated(State before, TaskList taskList) {
+        Changes changes = new Changes();
+        Map<String, String> after = taskListFields(taskList);
+        if (before.fields().equals(after)) {
+            return;
+        }
+        changes.addBaseline(HistoryEntityType.TASK_LIST, taskList.getId(), taskList.getId(), taskList.getRevision(), before);
+        taskList.setRevision(taskList.getRevision() + 1);
+        changes.add(HistoryEntityType.TASK_LIST, taskList.getId(), taskList.getId(), taskList.getRevision(),
+                ChangeType.UPDATED, before.fields(), after, taskList.getUpdated());
+        changes.save();
+    }
+
+    @Override
+    public void recordTaskListDeleted(TaskList taskList) {
+        Changes changes = new Changes();
+        changes.addBaseline(HistoryEntityType.TASK_LIST, taskList.getId(), taskList.getId(), taskList.getRevision(),
+                captureTaskList(taskList));
+        changes.add(HistoryEntityType.TASK_LIST, taskList.getId(), taskList.getId(), taskList.getRevision() + 1,
+                ChangeType.DELETED, null, null, LocalDateTime.now());
+        changes.save();
+    }
+
+    @Override
+    public List<HistoryEntry> getTaskHistory(UUID taskListId, UUID taskId) {
+        return historyEntryRepository.findByEntity(HistoryEntityType.TASK, taskId, taskListId);
+    }
+
+    @Override
+    public List<HistoryEntry> getTaskListHistory(UUID taskListId, LocalDateTime since) {
+        return historyEntryRepository.findByTaskListIdSince(
+                taskListId, Optional.ofNullable(since).orElse(EPOCH), Limit.of(maxEntries));
+    }
+
+    @Override
+    public Optional<Task> getTaskAsOf(UUID taskListId, UUID taskId, LocalDateTime asOf) {
+        return replay(HistoryEntityType.TASK, taskId, taskListId, asOf).map(fields -> new Task(
+                taskId,
+                fields.get("title"),
+                fields.get("description"),
+                parse(fields.get("dueDate"), LocalDateTime::parse),
+                parse(fields.get("status"), TaskStatus::valueOf),
+                parse(fields.get("priority"), TaskPriority::valueOf),
+                null,
+                null,
+                null
+        ));
+    }
+
+    @Override
+    public Optional<TaskList> getTaskListAsOf(UUID taskListId, LocalDateTime asOf) {
+        return replay(HistoryEntityType.TASK_LIST, taskListId, taskListId, asOf).map(fields -> new TaskList(
+                taskListId,
+                fields.get("title"),
+                fields.get("description"),
+                null,
+                null,
+                null
+        ));
+    }
+
+    /**
+     * Starts from the newest snapshot at or before {@code asOf} and applies the entries after it,
+     * at most {@code snapshotEvery} revisions.
+     */
+    private Optional<Map<String, String>> replay(HistoryEntityType entityType, UUID entityId, UUID taskListId,
+                                                 LocalDateTime asOf) {
+        List<HistorySnapshot> snapshots = historySnapshotRepository.findLatest(
+                entityType, entityId, taskListId, asOf, Limit.of(1));
+
+        Map<String, String> state = null;
+        long revision = 0;
+        if (!snapshots.isEmpty()) {
+            state = readState(snapshots.getFirst().getState());
+            revision = snapshots.getFirst().getRevision();
+        }
+
+        for (HistoryEntry entry : historyEntryRepository.findForReplay(entityType, entityId, taskListId, revision, asOf)) {
+            switch (entry.getChangeType()) {
+                case CREATED -> {
+                    state = new LinkedHashMap<>();
+                    apply(state, entry);
+                }
+                case UPDATED -> {
+                    if (null != state) {
+                        apply(state, entry);
+                    }
+                }
+                case DELETED -> state = null;
+                case ARCHIVED -> {
+                }
+            }
+        }
+        return Optional.ofNullable(state);
+    }
+
+    private void apply(Map<String, String> state, HistoryEntry entry) {
+        readChanges(entry.getChanges()).forEach((field, change) -> state.put(field, change.get(1)));
+    }
+
+    private void recordWithoutFields(UUID taskListId, Collection<? extends TaskRevision> tasks, ChangeType changeType) {
+        Changes changes = new Changes();
+        LocalDateTime now = LocalDateTime.now();
+        for (TaskRevision task : tasks) {
+            changes.add(HistoryEntityType.TASK, task.getId(), taskListId, task.getRevision() + 1,
+                    changeType, null, null, now);
+        }
+        changes.save();
+    }
+
+    private static Map<String, String> taskFields(Task task) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", task.getTitle());
+        fields.put("description", task.getDescription());
+        fields.put("dueDate", Objects.toString(task.getDueDate(), null));
+        fields.put("priority", Objects.toString(task.getPriority(), null));
+        fields.put("status", Objects.toString(task.getStatus(), null));
+        return fields;
+    }
+
+    private static Map<String, String> taskListFields(TaskList taskList) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("title", taskList.getTitle());
+        fields.put("description", taskList.getDescription());
+        return fields;
+    }
+
+    private static <T> T parse(String value, Function<String, T> parser) {
+        return null == value ? null : parser.apply(value);
+    }
+
+    private Map<String, String> readState(String state) {
+        try {
+            return objectMapper.readValue(state, STATE_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable history snapshot", ex);
+        }
+    }
+
+    private Map<String, List<String>> readChanges(String changes) {
+        try {
+            return objectMapper.readValue(changes, CHANGES_TYPE);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable history entry", ex);
+        }
+    }
+
+    private String writeJson(Map<String, ?> value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unwritable history", ex);
+        }
+    }
+
+    /**
+     * Collects the rows of one call so they go out as a single JDBC batch, one entry per revision.
+     */
+    private final class Changes {
+
+        private final List<HistoryEntry> entries = new ArrayList<>();
+        private final List<HistorySnapshot> snapshots = new ArrayList<>();
+
+        void add(HistoryEntityType entityType, UUID entityId, UUID taskListId, long revision, ChangeType changeType,
+                 Map<String, String> before, Map<String, String> after, LocalDateTime changedAt) {
+            Map<String, String[]> changed = new LinkedHashMap<>();
+            if (null != after) {
+                after.forEach((field, newValue) -> {
+                    String oldValue = null == before ? null : before.get(field);
+                    if (ChangeType.CREATED == changeType ? null != newValue : !Objects.equals(oldValue, newValue)) {
+                        changed.put(field, new String[]{oldValue, newValue});
+                    }
+                });
+            }
+            entries.add(new HistoryEntry(entityId, revision, entityType, taskListId, changeType,
+                    writeJson(changed), changedAt));
+            if (null != after && revision % snapshotEvery == 0) {
+                snapshots.add(new HistorySnapshot(null, entityType, entityId, taskListId, revision,
+                        writeJson(after), changedAt));
+            }
+        }
+
+        /**
+         * Rows that predate the history have revision 0 and no entries, their state before the first
+         * recorded change is kept as a snapshot valid from their last update.
+         */
+        void addBaseline(HistoryEntityType entityType, UUID entityId, UUID taskListId, long revision, State before) {
+            if (0 == revision && null != before.updated()) {
+                snapshots.add(new HistorySnapshot(null, entityType, entityId, taskListId, 0,
+                        writeJson(before.fields()), before.updated()));
+            }
+        }
+
+        void save() {
+            historyEntryRepository.saveAll(entries);
+            if (!snapshots.isEmpty()) {
+                historySnapshotRepository.saveAll(snapshots);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.exception.ConflictException;
+import com.devtiro.exception.ValidationException;
+import com.devtiro.services.IdempotencyService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final ConflictException KEY_REUSED = new ConflictException("Idempotency-Key was already used with a different request");
+    private static final ConflictException STILL_RUNNING = new ConflictException("A request with this Idempotency-Key is still in progress");
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Slot> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long waitTimeoutNanos;
+
+    public IdempotencyServiceImpl(
+            @Value("${task-tracker.idempotency.ttl:24h}") Duration ttl,
+            @Value("${task-tracker.idempotency.max-entries:100000}") int maxEntries,
+            @Value("${task-tracker.idempotency.wait-timeout:30s}") Duration waitTimeout) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.waitTimeoutNanos = waitTimeout.toNanos();
+    }
+
+    @Override
+    public <T> T execute(String scope, String idempotencyKey, Object request, Supplier<T> action) {
+        if (null == idempotencyKey) {
+            return action.get();
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new ValidationException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = scope + ':' + idempotencyKey;
+        while (true) {
+            long now = System.nanoTime();
+            Entry fresh = new Entry(request, new CompletableFuture<>(), now + ttlNanos);
+            Entry existing = entries.putIfAbsent(cacheKey, fresh);
+
+            if (null == existing) {
+                insertionOrder.add(new Slot(cacheKey, fresh));
+                evictIfFull(now);
+                return runFirst(cacheKey, fresh, action);
+            }
+            if (existing.isExpired(now)) {
+                entries.remove(cacheKey, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.request(), request)) {
+                throw KEY_REUSED;
+            }
+            return awaitResult(existing);
+        }
+    }
+
+    private <T> T runFirst(String cacheKey, Entry entry, Supplier<T> action) {
+        try {
+            T result = action.get();
+            entry.result().complete(result);
+            return result;
+        } catch (Throwable ex) {
+            // Failed attempts are not remembered so the client can retry them, and waiting
+            // duplicates are released with the same failure, errors included
+            entries.remove(cacheKey, entry);
+            entry.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T awaitResult(Entry entry) {
+        try {
+            return (T) entry.result().get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw STILL_RUNNING;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw STILL_RUNNING;
+        } catch (ExecutionException ex) {
+            switch (ex.getCause()) {
+                case RuntimeException cause -> throw cause;
+                case Error cause -> throw cause;
+                default -> throw new IllegalStateException(ex.getCause());
+            }
+        }
+    }
+
+    /**
+     * Drops queue slots whose entry was replaced or removed, entries past their TTL, and the oldest
+     * completed entries while the map is over {@code maxEntries}. Calls still running are never dropped
+     * since their duplicates wait on them; they are skipped and queued again at the tail, so the map
+     * exceeds its bound by at most the number of calls in flight.
+     */
+    private void evictIfFull(long now) {
+        List<Slot> inFlight = new ArrayList<>();
+        Slot oldest;
+        while (null != (oldest = insertionOrder.peek())) {
+            boolean stale = entries.get(oldest.key()) != oldest.entry();
+            boolean expired = oldest.entry().isExpired(now);
+            if (!stale && !expired && entries.size() <= maxEntries) {
+                break;
+            }
+            if (!insertionOrder.remove(oldest) || stale) {
+                continue;
+            }
+            if (expired || oldest.entry().result().isDone()) {
+                entries.remove(oldest.key(), oldest.entry());
+            } else {
+                inFlight.add(oldest);
+            }
+        }
+        insertionOrder.addAll(inFlight);
+    }
+
+    private record Entry(Object request, CompletableFuture<Object> result, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+
+    /**
+     * Position of one entry in the insertion order. Entries are compared by identity, a key that was
+     * stored again after its entry expired or failed gets a new slot.
+     */
+    private record Slot(String key, Entry entry) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Slot slot && key.equals(slot.key) && entry == slot.entry;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(entry);
+        }
+    }
+}
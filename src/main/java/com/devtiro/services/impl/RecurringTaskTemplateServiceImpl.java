@@ -0,0 +1,112 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.domain.entities.RecurringTaskTemplate;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.exception.ValidationException;
+import com.devtiro.repositories.RecurringTaskTemplateRepository;
+import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.services.RecurringTaskTemplateService;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class RecurringTaskTemplateServiceImpl implements RecurringTaskTemplateService {
+
+    private static final ValidationException TEMPLATE_HAS_ID = new ValidationException("Recurring task already has an ID");
+    private static final ValidationException TEMPLATE_WITHOUT_TITLE = new ValidationException("Recurring task must have title");
+    private static final ValidationException TEMPLATE_WITHOUT_FREQUENCY = new ValidationException("Recurring task must have a frequency");
+    private static final ValidationException TEMPLATE_INVALID_INTERVAL = new ValidationException("Recurring task interval must be at least 1");
+    private static final ValidationException TEMPLATE_ENDS_BEFORE_START = new ValidationException("Recurring task cannot end before it starts");
+    private static final NotFoundException TASK_LIST_NOT_FOUND = new NotFoundException("Invalid Task list ID provided!");
+
+    private final RecurringTaskTemplateRepository templateRepository;
+    private final TaskListRepository taskListRepository;
+
+    public RecurringTaskTemplateServiceImpl(RecurringTaskTemplateRepository templateRepository,
+                                            TaskListRepository taskListRepository) {
+        this.templateRepository = templateRepository;
+        this.taskListRepository = taskListRepository;
+    }
+
+    @Override
+    public List<RecurringTaskTemplate> listTemplates(UUID taskListId) {
+        return templateRepository.findByTaskListId(taskListId);
+    }
+
+    @Transactional
+    @Override
+    public RecurringTaskTemplate createTemplate(UUID taskListId, RecurringTaskTemplate template) {
+        if (null != template.getId()) {
+            throw TEMPLATE_HAS_ID;
+        }
+        if (null == template.getTitle() || template.getTitle().isBlank()) {
+            throw TEMPLATE_WITHOUT_TITLE;
+        }
+        if (null == template.getFrequency()) {
+            throw TEMPLATE_WITHOUT_FREQUENCY;
+        }
+        if (template.getInterval() < 1) {
+            throw TEMPLATE_INVALID_INTERVAL;
+        }
+
+        TaskList taskList = taskListRepository.findById(taskListId)
+                .orElseThrow(() -> TASK_LIST_NOT_FOUND);
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startsAt = Optional.ofNullable(template.getStartsAt()).orElse(now);
+        if (null != template.getEndsAt() && template.getEndsAt().isBefore(startsAt)) {
+            throw TEMPLATE_ENDS_BEFORE_START;
+        }
+
+        RecurringTaskTemplate templateToSave = new RecurringTaskTemplate(
+                null,
+                template.getTitle(),
+                template.getDescription(),
+                Optional.ofNullable(template.getPriority()).orElse(TaskPriority.MEDIUM),
+                template.getFrequency(),
+                template.getInterval(),
+                startsAt,
+                template.getEndsAt(),
+                taskList,
+                now,
+                now
+        );
+
+        // Occurrences that are already in the past are skipped rather than created as overdue tasks
+        long firstIndex = firstOccurrenceIndexFrom(templateToSave, now);
+        templateToSave.setMaterializedCount(firstIndex);
+        templateToSave.setNextOccurrence(templateToSave.occurrence(firstIndex));
+
+        return templateRepository.save(templateToSave);
+    }
+
+    @Override
+    public Optional<RecurringTaskTemplate> getTemplate(UUID taskListId, UUID templateId) {
+        return templateRepository.findByTaskListIdAndId(taskListId, templateId);
+    }
+
+    @Transactional
+    @Override
+    public boolean deleteTemplate(UUID taskListId, UUID templateId) {
+        // Tasks already materialized from the template are kept
+        return templateRepository.deleteByTaskListIdAndId(taskListId, templateId) > 0;
+    }
+
+    private long firstOccurrenceIndexFrom(RecurringTaskTemplate template, LocalDateTime from) {
+        if (!template.getStartsAt().isBefore(from)) {
+            return 0;
+        }
+        long index = template.getFrequency().periodsBetween(template.getStartsAt(), from) / template.getInterval();
+        while (template.getFrequency().plus(template.getStartsAt(), index * template.getInterval()).isBefore(from)) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,203 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.dependencies.TaskDependencyGraph;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskDependency;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.exception.ConflictException;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.exception.ValidationException;
+import com.devtiro.repositories.TaskDependencyRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.TaskDependencyService;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Dependency structure comes from {@link TaskDependencyGraph}, task status from the database, read in
+ * chunked IN queries. A blocker is resolved once it is closed, deleted or in a deleted list.
+ */
+@Service
+public class TaskDependencyServiceImpl implements TaskDependencyService {
+
+    private static final ValidationException BLOCKER_WITHOUT_ID = new ValidationException("Blocker task ID must be present");
+    private static final ValidationException BLOCKS_ITSELF = new ValidationException("A task cannot block itself");
+    private static final ValidationException BLOCKER_NOT_FOUND = new ValidationException("Blocker task not found");
+    private static final ConflictException DEPENDENCY_CYCLE = new ConflictException("Dependency would create a cycle");
+    private static final NotFoundException TASK_NOT_FOUND = new NotFoundException("Task not found");
+
+    private final TaskDependencyRepository taskDependencyRepository;
+    private final TaskRepository taskRepository;
+    private final TaskDependencyGraph dependencyGraph;
+    private final int chunkSize;
+
+    public TaskDependencyServiceImpl(TaskDependencyRepository taskDependencyRepository,
+                                     TaskRepository taskRepository,
+                                     TaskDependencyGraph dependencyGraph,
+                                     @Value("${task-tracker.batch-get.chunk-size:500}") int chunkSize) {
+        this.taskDependencyRepository = taskDependencyRepository;
+        this.taskRepository = taskRepository;
+        this.dependencyGraph = dependencyGraph;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    @Override
+    public void addBlocker(UUID taskListId, UUID taskId, UUID blockerId) {
+        if (null == blockerId) {
+            throw BLOCKER_WITHOUT_ID;
+        }
+        if (taskId.equals(blockerId)) {
+            throw BLOCKS_ITSELF;
+        }
+        taskRepository.findByTaskListIdAndId(taskListId, taskId)
+                .orElseThrow(() -> TASK_NOT_FOUND);
+        if (taskRepository.findByIdIn(List.of(blockerId)).isEmpty()) {
+            throw BLOCKER_NOT_FOUND;
+        }
+        if (taskDependencyRepository.existsByBlockerIdAndBlockedId(blockerId, taskId)) {
+            return;
+        }
+
+        // With writes of all instances serialized, the check in the table is authoritative
+        dependencyGraph.lockForWrite();
+        if (taskDependencyRepository.countReachable(taskId, blockerId) > 0) {
+            throw DEPENDENCY_CYCLE;
+        }
+        if (!dependencyGraph.add(blockerId, taskId)) {
+            // This instance still has an edge that another one removed, the reload picks up the removal
+            dependencyGraph.reload();
+            if (!dependencyGraph.add(blockerId, taskId)) {
+                throw DEPENDENCY_CYCLE;
+            }
+        }
+        taskDependencyRepository.save(new TaskDependency(null, blockerId, taskId, LocalDateTime.now()));
+    }
+
+    @Transactional
+    @Override
+    public boolean removeBlocker(UUID taskListId, UUID taskId, UUID blockerId) {
+        if (taskRepository.findByTaskListIdAndId(taskListId, taskId).isEmpty()
+                || !taskDependencyRepository.existsByBlockerIdAndBlockedId(blockerId, taskId)) {
+            return false;
+        }
+        dependencyGraph.lockForWrite();
+        if (taskDependencyRepository.deleteByBlockerIdAndBlockedId(blockerId, taskId) == 0) {
+            return false;
+        }
+        dependencyGraph.remove(blockerId, taskId);
+        return true;
+    }
+
+    /**
+     * Walks blockers level by level with one status lookup per level. The walk stops at resolved
+     * blockers, whatever blocks them no longer matters.
+     */
+    @Override
+    public List<Task> getBlockers(UUID taskListId, UUID taskId, boolean transitive) {
+        taskRepository.findByTaskListIdAndId(taskListId, taskId)
+                .orElseThrow(() -> TASK_NOT_FOUND);
+
+        List<Task> blockers = new ArrayList<>();
+        Set<UUID> visited = new HashSet<>(Set.of(taskId));
+        Set<UUID> frontier = Set.of(taskId);
+        while (!frontier.isEmpty()) {
+            Set<UUID> next = new HashSet<>();
+            frontier.forEach(id -> dependencyGraph.blockersOf(id).stream()
+                    .filter(visited::add)
+                    .forEach(next::add));
+
+            Set<UUID> unresolved = new HashSet<>();
+            loadTasks(next).values().stream()
+                    .filter(this::isUnresolved)
+                    .forEach(blocker -> {
+                        blockers.add(blocker);
+                        unresolved.add(blocker.getId());
+                    });
+            frontier = transitive ? unresolved : Set.of();
+        }
+        return blockers;
+    }
+
+    @Override
+    public List<Task> listUnblockedTasks(UUID taskListId) {
+        Map<UUID, Task> tasks = taskRepository.findByTaskListId(taskListId).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        Map<UUID, Set<UUID>> blockersByTask = new HashMap<>();
+        Set<UUID> otherListBlockers = new HashSet<>();
+        tasks.values().stream().filter(this::isUnresolved).forEach(task -> {
+            Set<UUID> blockers = dependencyGraph.blockersOf(task.getId());
+            blockersByTask.put(task.getId(), blockers);
+            blockers.stream().filter(id -> !tasks.containsKey(id)).forEach(otherListBlockers::add);
+        });
+        Map<UUID, Task> otherTasks = loadTasks(otherListBlockers);
+
+        return blockersByTask.entrySet().stream()
+                .filter(entry -> entry.getValue().stream().noneMatch(blockerId ->
+                        isUnresolved(tasks.getOrDefault(blockerId, otherTasks.get(blockerId)))))
+                .map(entry -> tasks.get(entry.getKey()))
+                .toList();
+    }
+
+    /**
+     * Longest chain of open tasks in the list that block each other, first task to do first.
+     */
+    @Override
+    public List<Task> getCriticalPath(UUID taskListId) {
+        Map<UUID, Task> openTasks = taskRepository.findByTaskListId(taskListId).stream()
+                .filter(this::isUnresolved)
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        return dependencyGraph.longestChain(openTasks.keySet()).stream()
+                .map(openTasks::get)
+                .toList();
+    }
+
+    @Transactional
+    @Override
+    public void removeTasks(Collection<UUID> taskIds) {
+        List<UUID> idList = List.copyOf(taskIds);
+        boolean locked = false;
+        for (int start = 0; start < idList.size(); start += chunkSize) {
+            List<UUID> chunk = idList.subList(start, Math.min(start + chunkSize, idList.size()));
+            // Most deleted tasks have no dependencies, those deletes do not queue on the write lock
+            if (!taskDependencyRepository.existsByBlockerIdInOrBlockedIdIn(chunk, chunk)) {
+                continue;
+            }
+            if (!locked) {
+                dependencyGraph.lockForWrite();
+                locked = true;
+            }
+            taskDependencyRepository.deleteByTaskIdIn(chunk);
+        }
+        dependencyGraph.removeTasks(idList);
+    }
+
+    private boolean isUnresolved(Task task) {
+        return null != task && TaskStatus.CLOSED != task.getStatus();
+    }
+
+    private Map<UUID, Task> loadTasks(Collection<UUID> ids) {
+        List<UUID> idList = List.copyOf(ids);
+        Map<UUID, Task> tasks = new HashMap<>();
+        for (int start = 0; start < idList.size(); start += chunkSize) {
+            taskRepository.findByIdIn(idList.subList(start, Math.min(start + chunkSize, idList.size())))
+                    .forEach(task -> tasks.put(task.getId(), task));
+        }
+        return tasks;
+    }
+}
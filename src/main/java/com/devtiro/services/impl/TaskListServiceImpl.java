@@ -1,24 +1,38 @@
 package com.devtiro.services.impl;
 
+import com.devtiro.domain.dto.TaskListField;
 import com.devtiro.domain.entities.TaskList;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.exception.ValidationException;
 import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.services.HistoryService;
 import com.devtiro.services.TaskListService;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class TaskListServiceImpl implements TaskListService {
 
+    private static final ValidationException TASK_LIST_HAS_ID = new ValidationException("Task list already has an ID!");
+    private static final ValidationException TASK_LIST_WITHOUT_TITLE = new ValidationException("Task list title must be present!");
+    private static final ValidationException TASK_LIST_WITHOUT_ID = new ValidationException("Task list must have an ID!");
+    private static final ValidationException TASK_LIST_ID_CHANGED = new ValidationException("Attempting to change task list ID, this is not permitted!");
+    private static final NotFoundException TASK_LIST_NOT_FOUND = new NotFoundException("Task list id not found!");
+
     private final TaskListRepository taskListRepository;
+    private final HistoryService historyService;
 
-    public TaskListServiceImpl(TaskListRepository taskListRepository) {
+    public TaskListServiceImpl(TaskListRepository taskListRepository, HistoryService historyService) {
         this.taskListRepository = taskListRepository;
+        this.historyService = historyService;
     }
 
     @Override
@@ -26,26 +40,37 @@ public class TaskListServiceImpl implements TaskListService {
         return taskListRepository.findAll();
     }
 
+    @Override
+    public List<Map<String, Object>> listTaskListFields(Set<TaskListField> fields) {
+        return taskListRepository.findFields(fields);
+    }
+
+    @Transactional
     @Override
     public TaskList createTaskLists(TaskList taskList) {
         if(null != taskList.getId()) {
-            throw new IllegalArgumentException("Task list already has an ID!");
+            throw TASK_LIST_HAS_ID;
         }
 
         if (taskList.getTitle() == null || taskList.getTitle().isBlank()) {
-            throw new IllegalArgumentException("Task list title must be present!");
+            throw TASK_LIST_WITHOUT_TITLE;
         }
 
         LocalDateTime now = LocalDateTime.now();
 
-        return taskListRepository.save(new TaskList(
+        TaskList taskListToSave = new TaskList(
                 null,
                 taskList.getTitle(),
                 taskList.getDescription(),
                 null,
                 now,
                 now
-        ));
+        );
+        taskListToSave.setRevision(1);
+
+        TaskList savedTaskList = taskListRepository.save(taskListToSave);
+        historyService.recordTaskListCreated(savedTaskList);
+        return savedTaskList;
     }
 
     @Override
@@ -53,29 +78,43 @@ public class TaskListServiceImpl implements TaskListService {
         return taskListRepository.findById(id);
     }
 
+    @Override
+    public Optional<Map<String, Object>> getTaskListFields(UUID id, Set<TaskListField> fields) {
+        return taskListRepository.findFieldsById(id, fields);
+    }
+
     @Transactional
     @Override
     public TaskList updateTaskList(UUID taskListId, TaskList taskList) {
         if(null == taskList.getId()) {
-            throw new IllegalArgumentException("Task list must have an ID!");
+            throw TASK_LIST_WITHOUT_ID;
         }
         if (!Objects.equals(taskList.getId(), taskListId)) {
-            throw new IllegalArgumentException("Attempting to change task list ID, this is not permitted!");
+            throw TASK_LIST_ID_CHANGED;
         }
 
-        TaskList existingTaskList = taskListRepository.findById(taskListId).orElseThrow(()->
-                new IllegalArgumentException("Task list id not found!"));
+        TaskList existingTaskList = taskListRepository.findById(taskListId).orElseThrow(() -> TASK_LIST_NOT_FOUND);
+        HistoryService.State before = historyService.captureTaskList(existingTaskList);
 
         existingTaskList.setTitle(taskList.getTitle());
         existingTaskList.setDescription(taskList.getDescription());
         existingTaskList.setUpdated(LocalDateTime.now());
+        historyService.recordTaskListUpdated(before, existingTaskList);
         return taskListRepository.save(existingTaskList);
     }
 
+    /**
+     * Only tombstones the list, its tasks are removed later by the purge job so the
+     * request does not depend on the size of the list.
+     */
+    @Transactional
     @Override
-    public void deleteTaskList(UUID taskListId) {
-
-        taskListRepository.deleteById(taskListId);
-
+    public boolean deleteTaskList(UUID taskListId) {
+        Optional<TaskList> taskList = taskListRepository.findById(taskListId);
+        if (taskList.isEmpty() || taskListRepository.softDeleteById(taskListId, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        historyService.recordTaskListDeleted(taskList.get());
+        return true;
     }
 }
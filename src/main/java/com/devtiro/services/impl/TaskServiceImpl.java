@@ -1,45 +1,114 @@
 package com.devtiro.services.impl;
 
+import com.devtiro.domain.dto.TaskField;
+import com.devtiro.domain.entities.ArchivedTask;
 import com.devtiro.domain.entities.Task;
 import com.devtiro.domain.entities.TaskList;
 import com.devtiro.domain.entities.TaskPriority;
 import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.domain.events.TaskDueDateChangedEvent;
+import com.devtiro.exception.NotFoundException;
+import com.devtiro.exception.ValidationException;
+import com.devtiro.ordering.RankKeys;
+import com.devtiro.repositories.ArchivedTaskRepository;
 import com.devtiro.repositories.TaskListRepository;
 import com.devtiro.repositories.TaskRepository;
+import com.devtiro.repositories.TaskRevision;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskDependencyService;
 import com.devtiro.services.TaskService;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class TaskServiceImpl implements TaskService {
 
+    private static final ValidationException TASK_HAS_ID = new ValidationException("Task already has an ID");
+    private static final ValidationException TASK_WITHOUT_TITLE = new ValidationException("Task must have title");
+    private static final ValidationException TASK_WITHOUT_ID = new ValidationException("Task must have an ID to update");
+    private static final ValidationException NULL_TASK_ID = new ValidationException("Task IDs must not be null");
+    private static final ValidationException TASK_ID_MISMATCH = new ValidationException("Task ID does not match the provided ID");
+    private static final ValidationException TASK_WITHOUT_PRIORITY = new ValidationException("Task must have a valid priority");
+    private static final ValidationException TASK_WITHOUT_STATUS = new ValidationException("Task must have a valid status");
+    private static final ValidationException MOVE_WITHOUT_ANCHOR = new ValidationException("Either afterTaskId or beforeTaskId must be provided");
+    private static final ValidationException MOVE_NEXT_TO_ITSELF = new ValidationException("A task cannot be moved next to itself");
+    private static final ValidationException ANCHOR_NOT_FOUND = new ValidationException("Invalid anchor task ID provided!");
+    private static final NotFoundException TASK_LIST_NOT_FOUND = new NotFoundException("Invalid Task list ID provided!");
+    private static final NotFoundException TASK_NOT_FOUND = new NotFoundException("Task not found");
+
     private final TaskRepository taskRepository;
     private final TaskListRepository taskListRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final HistoryService historyService;
+    private final TaskDependencyService taskDependencyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchMaxIds;
+    private final ValidationException tooManyIds;
+    private final int batchChunkSize;
+    private final int maxPositionLength;
 
-    public TaskServiceImpl(TaskRepository taskRepository, TaskListRepository taskListRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, TaskListRepository taskListRepository,
+                           ArchivedTaskRepository archivedTaskRepository,
+                           HistoryService historyService,
+                           TaskDependencyService taskDependencyService,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${task-tracker.batch-get.max-ids:1000}") int batchMaxIds,
+                           @Value("${task-tracker.batch-get.chunk-size:500}") int batchChunkSize,
+                           @Value("${task-tracker.ordering.max-key-length:24}") int maxPositionLength) {
         this.taskRepository = taskRepository;
         this.taskListRepository = taskListRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.historyService = historyService;
+        this.taskDependencyService = taskDependencyService;
+        this.eventPublisher = eventPublisher;
+        this.batchMaxIds = batchMaxIds;
+        this.tooManyIds = new ValidationException("At most " + batchMaxIds + " task IDs can be passed at once");
+        this.batchChunkSize = batchChunkSize;
+        this.maxPositionLength = maxPositionLength;
     }
 
     @Override
-    public List<Task> listTasks(UUID taskListId) {
-        return taskRepository.findByTaskListId(taskListId);
+    public List<Task> listTasks(UUID taskListId, boolean includeArchived) {
+        List<Task> tasks = taskRepository.findByTaskListId(taskListId);
+        if (!includeArchived) {
+            return tasks;
+        }
+
+        List<Task> allTasks = new ArrayList<>(tasks);
+        archivedTaskRepository.findByTaskListId(taskListId).stream()
+                .map(this::fromArchive)
+                .forEach(allTasks::add);
+        return allTasks;
+    }
+
+    @Override
+    public List<Map<String, Object>> listTaskFields(UUID taskListId, Set<TaskField> fields) {
+        return taskRepository.findFieldsByTaskListId(taskListId, fields);
     }
 
     @Transactional
     @Override
     public Task createTask(UUID taskListId, Task task) {
         if(null != task.getId()) {
-            throw new IllegalArgumentException("Task already has an ID");
+            throw TASK_HAS_ID;
         }
         if (null == task.getTitle() || task.getTitle().isBlank()) {
-            throw new IllegalArgumentException("Task must have title");
+            throw TASK_WITHOUT_TITLE;
         }
 
          TaskPriority taskPriority = Optional.ofNullable(task.getPriority())
@@ -48,7 +117,7 @@ public class TaskServiceImpl implements TaskService {
         TaskStatus taskStatus = TaskStatus.OPEN;
 
         TaskList taskList = taskListRepository.findById(taskListId)
-                .orElseThrow(() -> new IllegalArgumentException("Invalid Task list ID provided!"));
+                .orElseThrow(() -> TASK_LIST_NOT_FOUND);
 
         LocalDateTime now = LocalDateTime.now();
 
@@ -63,34 +132,72 @@ public class TaskServiceImpl implements TaskService {
                 now,
                 now
         );
+        taskToSave.setPosition(RankKeys.between(taskRepository.findLastPosition(taskListId).orElse(null), null));
+        taskToSave.setRevision(1);
 
-        return taskRepository.save(taskToSave);
+        Task savedTask = taskRepository.save(taskToSave);
+        historyService.recordTasksCreated(List.of(savedTask));
+        eventPublisher.publishEvent(new TaskDueDateChangedEvent(taskListId, savedTask.getId(), savedTask.getDueDate()));
+        return savedTask;
     }
 
     @Override
-    public Optional<Task> getTask(UUID taskListId, UUID taskId) {
+    public Optional<Task> getTask(UUID taskListId, UUID taskId, boolean includeArchived) {
+        Optional<Task> task = taskRepository.findByTaskListIdAndId(taskListId, taskId);
+        if (task.isPresent() || !includeArchived) {
+            return task;
+        }
 
-        return taskRepository.findByTaskListIdAndId(taskListId, taskId);
+        return archivedTaskRepository.findByTaskListIdAndId(taskListId, taskId)
+                .map(this::fromArchive);
+    }
+
+    /**
+     * Resolves tasks from any list with one IN query per chunk. Missing ids are simply absent
+     * from the returned map.
+     */
+    @Override
+    public Map<UUID, Task> getTasks(Collection<UUID> taskIds) {
+        if (taskIds.size() > batchMaxIds) {
+            throw tooManyIds;
+        }
+        if (taskIds.stream().anyMatch(Objects::isNull)) {
+            throw NULL_TASK_ID;
+        }
+
+        List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(taskIds));
+        Map<UUID, Task> tasks = new HashMap<>();
+        for (int start = 0; start < distinctIds.size(); start += batchChunkSize) {
+            List<UUID> chunk = distinctIds.subList(start, Math.min(start + batchChunkSize, distinctIds.size()));
+            taskRepository.findByIdIn(chunk).forEach(task -> tasks.put(task.getId(), task));
+        }
+        return tasks;
+    }
+
+    @Override
+    public Optional<Map<String, Object>> getTaskFields(UUID taskListId, UUID taskId, Set<TaskField> fields) {
+        return taskRepository.findFieldsByTaskListIdAndId(taskListId, taskId, fields);
     }
 
     @Transactional
     @Override
     public Task updateTask(UUID taskListId, UUID taskId, Task task) {
         if(null == task.getId()) {
-            throw new IllegalArgumentException("Task must have an ID to update");
+            throw TASK_WITHOUT_ID;
         }
         if(!Objects.equals(taskId, task.getId())) {
-            throw new IllegalArgumentException("Task ID does not match the provided ID");
+            throw TASK_ID_MISMATCH;
         }
         if(null == task.getPriority()) {
-            throw new IllegalArgumentException("Task must have a valid priority");
+            throw TASK_WITHOUT_PRIORITY;
         }
         if(null == task.getStatus()) {
-            throw new IllegalArgumentException("Task must have a valid status");
+            throw TASK_WITHOUT_STATUS;
         }
 
         Task existingTask = taskRepository.findByTaskListIdAndId(taskListId, taskId)
-                .orElseThrow(() -> new IllegalArgumentException("Task not found"));
+                .orElseThrow(() -> TASK_NOT_FOUND);
+        HistoryService.State before = historyService.captureTask(existingTask);
 
         existingTask.setTitle(task.getTitle());
         existingTask.setDescription(task.getDescription());
@@ -98,13 +205,142 @@ public class TaskServiceImpl implements TaskService {
         existingTask.setPriority(task.getPriority());
         existingTask.setStatus(task.getStatus());
         existingTask.setUpdated(LocalDateTime.now());
+        historyService.recordTaskUpdated(before, existingTask);
+
+        Task savedTask = taskRepository.save(existingTask);
+        eventPublisher.publishEvent(new TaskDueDateChangedEvent(
+                taskListId,
+                savedTask.getId(),
+                TaskStatus.OPEN == savedTask.getStatus() ? savedTask.getDueDate() : null
+        ));
+        return savedTask;
+    }
+
+    /**
+     * Places the task directly after or before another task of the same list. Only the moved task's
+     * position is written, its new key is computed from the anchor and the anchor's current neighbour.
+     */
+    @Transactional
+    @Override
+    public void moveTask(UUID taskListId, UUID taskId, UUID afterTaskId, UUID beforeTaskId) {
+        if ((null == afterTaskId) == (null == beforeTaskId)) {
+            throw MOVE_WITHOUT_ANCHOR;
+        }
+        UUID anchorId = null != afterTaskId ? afterTaskId : beforeTaskId;
+        if (Objects.equals(taskId, anchorId)) {
+            throw MOVE_NEXT_TO_ITSELF;
+        }
+
+        String anchorPosition = taskRepository.findPosition(taskListId, anchorId)
+                .orElseThrow(() -> ANCHOR_NOT_FOUND);
+        String position;
+        if (null != afterTaskId) {
+            String next = taskRepository.findPositionsAfter(taskListId, anchorPosition, taskId, Limit.of(1))
+                    .stream().findFirst().orElse(null);
+            position = RankKeys.between(anchorPosition, next);
+        } else {
+            String previous = taskRepository.findPositionsBefore(taskListId, anchorPosition, taskId, Limit.of(1))
+                    .stream().findFirst().orElse(null);
+            position = RankKeys.between(previous, anchorPosition);
+        }
 
-        return taskRepository.save(existingTask);
+        if (taskRepository.updatePosition(taskListId, taskId, position) == 0) {
+            throw TASK_NOT_FOUND;
+        }
+        if (position.length() > maxPositionLength) {
+            // Only the first long key sets the timestamp, later moves leave the row alone
+            taskListRepository.requestRebalance(taskListId, LocalDateTime.now());
+        }
     }
 
     @Transactional
     @Override
-    public void deleteTask(UUID taskListId, UUID taskId) {
-        taskRepository.deleteByTaskListIdAndId(taskListId ,taskId);
+    public boolean deleteTask(UUID taskListId, UUID taskId) {
+        eventPublisher.publishEvent(new TaskDueDateChangedEvent(taskListId, taskId, null));
+        List<TaskRevision> revisions = taskRepository.findRevisionsByTaskListIdAndIdIn(taskListId, List.of(taskId));
+        if (revisions.isEmpty() || taskRepository.deleteByTaskListIdAndId(taskListId, taskId) == 0) {
+            return false;
+        }
+        taskDependencyService.removeTasks(List.of(taskId));
+        historyService.recordTasksDeleted(taskListId, revisions);
+        return true;
+    }
+
+    /**
+     * Accepts as many ids as a batch get and deletes them in the same chunks, so no statement gets an
+     * unbounded IN list.
+     */
+    @Transactional
+    @Override
+    public int deleteTasks(UUID taskListId, Collection<UUID> taskIds) {
+        if (taskIds.size() > batchMaxIds) {
+            throw tooManyIds;
+        }
+        if (taskIds.stream().anyMatch(Objects::isNull)) {
+            throw NULL_TASK_ID;
+        }
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> distinctIds = new ArrayList<>(new LinkedHashSet<>(taskIds));
+        distinctIds.forEach(taskId -> eventPublisher.publishEvent(new TaskDueDateChangedEvent(taskListId, taskId, null)));
+        List<TaskRevision> revisions = new ArrayList<>();
+        int deleted = 0;
+        for (int start = 0; start < distinctIds.size(); start += batchChunkSize) {
+            List<UUID> chunk = distinctIds.subList(start, Math.min(start + batchChunkSize, distinctIds.size()));
+            List<TaskRevision> chunkRevisions = taskRepository.findRevisionsByTaskListIdAndIdIn(taskListId, chunk);
+            if (!chunkRevisions.isEmpty()) {
+                revisions.addAll(chunkRevisions);
+                deleted += taskRepository.deleteByTaskListIdAndIdIn(taskListId, chunk);
+            }
+        }
+        if (revisions.isEmpty()) {
+            return 0;
+        }
+        taskDependencyService.removeTasks(revisions.stream().map(TaskRevision::getId).toList());
+        historyService.recordTasksDeleted(taskListId, revisions);
+        return deleted;
+    }
+
+    /**
+     * Deletes exactly the tasks whose revisions were read, so a task that changes to {@code status}
+     * meanwhile is not deleted without a history entry.
+     */
+    @Transactional
+    @Override
+    public int deleteTasksByStatus(UUID taskListId, TaskStatus status) {
+        List<TaskRevision> revisions = taskRepository.findRevisionsByTaskListIdAndStatus(taskListId, status);
+        if (revisions.isEmpty()) {
+            return 0;
+        }
+
+        List<UUID> ids = revisions.stream().map(TaskRevision::getId).toList();
+        ids.forEach(taskId -> eventPublisher.publishEvent(new TaskDueDateChangedEvent(taskListId, taskId, null)));
+        int deleted = 0;
+        for (int start = 0; start < ids.size(); start += batchChunkSize) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + batchChunkSize, ids.size()));
+            deleted += taskRepository.deleteByTaskListIdAndIdIn(taskListId, chunk);
+        }
+        taskDependencyService.removeTasks(ids);
+        historyService.recordTasksDeleted(taskListId, revisions);
+        return deleted;
+    }
+
+    /**
+     * Archived tasks are returned as detached, read-only {@link Task} instances without their list.
+     */
+    private Task fromArchive(ArchivedTask archivedTask) {
+        return new Task(
+                archivedTask.getId(),
+                archivedTask.getTitle(),
+                archivedTask.getDescription(),
+                archivedTask.getDueDate(),
+                archivedTask.getStatus(),
+                archivedTask.getPriority(),
+                null,
+                archivedTask.getCreated(),
+                archivedTask.getUpdated()
+        );
     }
 }
@@ -0,0 +1,5 @@
+-- Set by a move that produced a long rank key, cleared when the rebalance job rewrites the list's positions.
+-- Kept in the table, not in memory, so whichever node holds the rebalance lease sees requests of all nodes.
+alter table task_lists add column rebalance_requested_at timestamp(6);
+
+create index idx_task_lists_rebalance_requested_at on task_lists (rebalance_requested_at);
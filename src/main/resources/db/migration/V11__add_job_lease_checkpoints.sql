@@ -0,0 +1,3 @@
+-- Progress a job stores with its lease, so the next holder resumes from it. The reminder dispatcher keeps the
+-- time up to which every due reminder has been sent, a new holder after any gap starts loading from there.
+alter table job_leases add column checkpoint timestamp(6);
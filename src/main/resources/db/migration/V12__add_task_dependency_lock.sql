@@ -0,0 +1,4 @@
+-- Locked by every write to task_dependencies until it commits, so writes of all instances are serialized and the
+-- cycle check of an insert sees every committed edge. The checkpoint is stamped on each write, instances poll it
+-- and reload their in-memory graph when it changed.
+insert into job_leases (name, owner, expires_at) values ('task-dependencies', null, timestamp '1970-01-01 00:00:00');
@@ -0,0 +1,27 @@
+-- One history row per revision instead of one per changed field. The changed fields are a JSON object of
+-- [old, new] pairs, e.g. {"title": ["Draft", "Final"]}, empty for DELETED and ARCHIVED. A revision is
+-- identified by its entity and number, so the random id and its index are gone and the primary key serves
+-- the per-entity reads.
+create table history_revisions (
+    entity_id    uuid          not null,
+    revision     bigint        not null,
+    entity_type  smallint      not null,
+    task_list_id uuid          not null,
+    change_type  smallint      not null,
+    changes      varchar(4096) not null,
+    changed_at   timestamp(6)  not null,
+    primary key (entity_id, revision)
+);
+
+insert into history_revisions (entity_id, revision, entity_type, task_list_id, change_type, changes, changed_at)
+select entity_id, revision, entity_type, task_list_id, change_type,
+       coalesce(cast(json_objectagg(field value json_array(old_value, new_value null on null))
+                     filter (where field is not null) as varchar(4096)), '{}'),
+       changed_at
+from history_entries
+group by entity_id, revision, entity_type, task_list_id, change_type, changed_at;
+
+drop table history_entries;
+
+-- Changes across a whole list over time, e.g. for burndown charts
+create index idx_history_revisions_task_list_id_changed_at on history_revisions (task_list_id, changed_at);
@@ -0,0 +1,39 @@
+-- Matches the schema previously generated by ddl-auto: update, so databases created that way
+-- are baselined without changes. Enums are stored by ordinal.
+create table if not exists task_lists (
+    id          uuid         not null,
+    title       varchar(255) not null,
+    description varchar(255),
+    created     timestamp(6) not null,
+    updated     timestamp(6) not null,
+    deleted_at  timestamp(6),
+    primary key (id)
+);
+
+create table if not exists tasks (
+    id           uuid         not null,
+    title        varchar(255) not null,
+    description  varchar(255),
+    due_date     timestamp(6),
+    status       smallint     not null,
+    priority     smallint     not null,
+    task_list_id uuid,
+    created      timestamp(6) not null,
+    updated      timestamp(6) not null,
+    primary key (id),
+    constraint fk_tasks_task_list foreign key (task_list_id) references task_lists (id)
+);
+
+create table if not exists archived_tasks (
+    id           uuid         not null,
+    title        varchar(255) not null,
+    description  varchar(255),
+    due_date     timestamp(6),
+    status       smallint     not null,
+    priority     smallint     not null,
+    task_list_id uuid         not null,
+    created      timestamp(6) not null,
+    updated      timestamp(6) not null,
+    archived     timestamp(6) not null,
+    primary key (id)
+);
@@ -0,0 +1,16 @@
+-- Task lookups always filter by list, the id suffix makes findByTaskListIdAndId index-only
+create index if not exists idx_tasks_task_list_id_id on tasks (task_list_id, id);
+
+-- Closed/total counts for task list progress
+create index if not exists idx_tasks_task_list_id_status on tasks (task_list_id, status);
+
+-- Upcoming due tasks
+create index if not exists idx_tasks_due_date on tasks (due_date);
+
+-- Archive job scans closed tasks by last update
+create index if not exists idx_tasks_status_updated on tasks (status, updated);
+
+-- Purge job looks up tombstoned lists
+create index if not exists idx_task_lists_deleted_at on task_lists (deleted_at);
+
+create index if not exists idx_archived_tasks_task_list_id on archived_tasks (task_list_id);
@@ -0,0 +1,40 @@
+-- Schedules that the recurring task materializer turns into tasks. Enums are stored by ordinal.
+create table recurring_task_templates (
+    id                 uuid         not null,
+    title              varchar(255) not null,
+    description        varchar(255),
+    priority           smallint     not null,
+    frequency          smallint     not null,
+    interval_count     integer      not null,
+    starts_at          timestamp(6) not null,
+    ends_at            timestamp(6),
+    materialized_count bigint       not null,
+    next_occurrence    timestamp(6),
+    task_list_id       uuid         not null,
+    created            timestamp(6) not null,
+    updated            timestamp(6) not null,
+    primary key (id),
+    constraint fk_recurring_task_templates_task_list foreign key (task_list_id) references task_lists (id)
+);
+
+-- Materializer picks templates whose next occurrence has entered the horizon
+create index idx_recurring_task_templates_next_occurrence on recurring_task_templates (next_occurrence);
+
+create index idx_recurring_task_templates_task_list_id on recurring_task_templates (task_list_id);
+
+-- No foreign key, deleting a template keeps the tasks it already produced
+alter table tasks add column recurring_template_id uuid;
+alter table tasks add column occurrence timestamp(6);
+
+-- A template occurrence becomes at most one task, even if two materializer runs overlap
+create unique index ux_tasks_recurring_template_occurrence on tasks (recurring_template_id, occurrence);
+
+-- One row per background job, a node runs the job only while it holds the unexpired lease
+create table job_leases (
+    name       varchar(64)  not null,
+    owner      varchar(255),
+    expires_at timestamp(6) not null,
+    primary key (name)
+);
+
+insert into job_leases (name, owner, expires_at) values ('recurring-task-materializer', null, timestamp '1970-01-01 00:00:00');
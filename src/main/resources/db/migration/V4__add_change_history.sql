@@ -0,0 +1,37 @@
+-- Number of recorded changes per row, history rows are ordered by it
+alter table tasks add column revision bigint default 0 not null;
+alter table task_lists add column revision bigint default 0 not null;
+
+-- Append-only field level diffs of tasks and task lists. Enums are stored by ordinal.
+create table history_entries (
+    id           uuid         not null,
+    entity_type  smallint     not null,
+    entity_id    uuid         not null,
+    task_list_id uuid         not null,
+    revision     bigint       not null,
+    change_type  smallint     not null,
+    field        varchar(32),
+    old_value    varchar(255),
+    new_value    varchar(255),
+    changed_at   timestamp(6) not null,
+    primary key (id)
+);
+
+create index idx_history_entries_entity_id_revision on history_entries (entity_id, revision);
+
+-- Changes across a whole list over time, e.g. for burndown charts
+create index idx_history_entries_task_list_id_changed_at on history_entries (task_list_id, changed_at);
+
+-- Full state every few revisions, so an as-of read replays a bounded number of diffs
+create table history_snapshots (
+    id           uuid          not null,
+    entity_type  smallint      not null,
+    entity_id    uuid          not null,
+    task_list_id uuid          not null,
+    revision     bigint        not null,
+    state        varchar(2048) not null,
+    taken_at     timestamp(6)  not null,
+    primary key (id)
+);
+
+create index idx_history_snapshots_entity_id_taken_at on history_snapshots (entity_id, taken_at);
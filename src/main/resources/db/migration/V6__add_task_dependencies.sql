@@ -0,0 +1,13 @@
+-- "blocker blocks blocked" edges between tasks of any lists. There are no foreign keys, a deleted or
+-- purged blocker simply counts as resolved.
+create table task_dependencies (
+    id         uuid         not null,
+    blocker_id uuid         not null,
+    blocked_id uuid         not null,
+    created    timestamp(6) not null,
+    primary key (id)
+);
+
+create unique index ux_task_dependencies_blocker_id_blocked_id on task_dependencies (blocker_id, blocked_id);
+
+create index idx_task_dependencies_blocked_id on task_dependencies (blocked_id);
@@ -0,0 +1,3 @@
+-- Ordered listing of a list without a sort. Built after the backfill of V7_1, which would otherwise have
+-- to maintain it for every numbered row.
+create index if not exists idx_tasks_task_list_id_position on tasks (task_list_id, position, id);
@@ -0,0 +1,4 @@
+-- Manual order of tasks within their list as base-36 rank keys ([0-9a-z]), compared as plain strings.
+-- Added without a default or constraint, so neither database rewrites or scans tasks. Existing tasks are
+-- given their creation order by the V7_1 migration of each vendor in db/vendor, the index follows in V7_2.
+alter table tasks add column if not exists position varchar(255);
@@ -0,0 +1,3 @@
+-- Revision of the ARCHIVED history entry, so purging an archived task can record the next one.
+-- Rows archived before the history was written to keep 0.
+alter table archived_tasks add column revision bigint default 0 not null;
@@ -0,0 +1,5 @@
+-- Deleting, purging and archiving tasks left their dependencies behind before they were removed
+-- together with the task.
+delete from task_dependencies d
+where not exists (select 1 from tasks t where t.id = d.blocker_id)
+   or not exists (select 1 from tasks t where t.id = d.blocked_id);
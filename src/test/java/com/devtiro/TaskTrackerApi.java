@@ -0,0 +1,66 @@
+package com.devtiro;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Sets up task lists and tasks through the REST API for MockMvc tests, failing the test if a call does not
+ * succeed. Create one per test from its {@link MockMvc} and {@link ObjectMapper}.
+ */
+public class TaskTrackerApi {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+
+    public TaskTrackerApi(MockMvc mockMvc, ObjectMapper objectMapper) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+    }
+
+    public static String tasks(String taskListId) {
+        return "/api/task-lists/" + taskListId + "/tasks";
+    }
+
+    public String createTaskList(String title) throws Exception {
+        return create("/api/task-lists", "{\"title\": \"" + title + "\"}");
+    }
+
+    public String createTask(String taskListId, String title) throws Exception {
+        return create(tasks(taskListId), "{\"title\": \"" + title + "\", \"priority\": \"MEDIUM\"}");
+    }
+
+    /**
+     * Sets the task to {@code CLOSED}, renaming it to {@code Closed}.
+     */
+    public void closeTask(String taskListId, String taskId) throws Exception {
+        mockMvc.perform(put(tasks(taskListId) + "/" + taskId).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": \"" + taskId + "\", \"title\": \"Closed\", \"priority\": \"MEDIUM\", \"status\": \"CLOSED\"}"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Posts {@code body} as JSON to {@code path} and returns the id of the created resource.
+     */
+    public String create(String path, String body) throws Exception {
+        return json(mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString()).get("id").asText();
+    }
+
+    public JsonNode getJson(String path) throws Exception {
+        return json(mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    private JsonNode json(String content) throws Exception {
+        return objectMapper.readTree(content);
+    }
+}
@@ -0,0 +1,113 @@
+package com.devtiro.config;
+
+import com.devtiro.domain.dto.TaskDto;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.domain.entities.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Payload size and serialization CPU of a task list page as JSON and CBOR, each plain and gzipped the way
+ * Tomcat compresses it (default deflate level). Uses the application's own mappers. Run with
+ * {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class CompactResponseSizeTest {
+
+    private static final int[] PAGE_SIZES = {20, 1_000};
+    private static final int TASKS_PER_ROUND = 200_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    // Consumed by the loops so the serialization cannot be optimized away
+    private long sink;
+
+    @Test
+    void sizeAndSerializationCost() throws IOException {
+        for (int pageSize : PAGE_SIZES) {
+            List<TaskDto> tasks = tasks(pageSize);
+            measure("json", pageSize, objectMapper, tasks, false);
+            measure("json + gzip", pageSize, objectMapper, tasks, true);
+            measure("cbor", pageSize, cborHttpMessageConverter.getObjectMapper(), tasks, false);
+            measure("cbor + gzip", pageSize, cborHttpMessageConverter.getObjectMapper(), tasks, true);
+        }
+    }
+
+    private void measure(String name, int pageSize, ObjectMapper mapper, List<TaskDto> tasks, boolean gzip)
+            throws IOException {
+        int iterations = TASKS_PER_ROUND / pageSize;
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            serializeRound(mapper, tasks, gzip, iterations);
+        }
+        double[] micros = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            serializeRound(mapper, tasks, gzip, iterations);
+            micros[round] = (System.nanoTime() - start) / 1_000.0 / iterations;
+        }
+        System.out.printf("%4d tasks %-12s %8d B %9.1f us/page%n",
+                pageSize, name, serialize(mapper, tasks, gzip).length, median(micros));
+    }
+
+    private void serializeRound(ObjectMapper mapper, List<TaskDto> tasks, boolean gzip, int iterations)
+            throws IOException {
+        for (int i = 0; i < iterations; i++) {
+            sink += serialize(mapper, tasks, gzip).length;
+        }
+    }
+
+    private static byte[] serialize(ObjectMapper mapper, List<TaskDto> tasks, boolean gzip) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(out, tasks);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Tasks shaped like real ones: short titles, a sentence of description, a due date on most of them.
+     */
+    private static List<TaskDto> tasks(int count) {
+        Random random = new Random(42);
+        List<TaskDto> tasks = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.of(2026, 10, 19, 9, 0);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new TaskDto(
+                    new UUID(random.nextLong(), random.nextLong()),
+                    "Task " + i,
+                    "Follow up on item " + random.nextInt(10_000) + " with the team before the review",
+                    random.nextInt(4) == 0 ? null : now.plusHours(random.nextInt(24 * 60)),
+                    TaskPriority.values()[random.nextInt(TaskPriority.values().length)],
+                    TaskStatus.values()[random.nextInt(TaskStatus.values().length)]));
+        }
+        return tasks;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
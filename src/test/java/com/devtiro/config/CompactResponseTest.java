@@ -0,0 +1,139 @@
+package com.devtiro.config;
+
+import com.devtiro.TaskTrackerApi;
+import com.devtiro.domain.dto.TaskListDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Content negotiation goes through MockMvc. Compression is done by the embedded Tomcat, which MockMvc
+ * bypasses, so the gzip tests send real requests to the server on a random port.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+class CompactResponseTest {
+
+    // Enough tasks for the list to pass the 2KB compression threshold
+    private static final int TASKS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborHttpMessageConverter;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void answersJsonWhenAnyTypeIsAccepted() throws Exception {
+        String taskListId = api.createTaskList("Compact");
+
+        mockMvc.perform(get("/api/task-lists/" + taskListId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.title").value("Compact"));
+    }
+
+    @Test
+    void answersCborWhenAsked() throws Exception {
+        String taskListId = api.createTaskList("Compact");
+
+        byte[] body = mockMvc.perform(get("/api/task-lists/" + taskListId).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // CBOR carries the id as 16 raw bytes rather than a 36 character string
+        TaskListDto taskList = cborHttpMessageConverter.getObjectMapper().readValue(body, TaskListDto.class);
+        assertThat(taskList.id()).isEqualTo(UUID.fromString(taskListId));
+        assertThat(taskList.title()).isEqualTo("Compact");
+    }
+
+    @Test
+    void compressesLargeJsonAndCborResponses() throws Exception {
+        String taskListId = createTaskListWithTasks();
+        String path = "/api/task-lists/" + taskListId + "/tasks";
+
+        HttpResponse<InputStream> json = send(path, MediaType.APPLICATION_JSON_VALUE);
+        assertThat(json.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(objectMapper.readTree(gunzip(json))).hasSize(TASKS);
+
+        HttpResponse<InputStream> cbor = send(path, MediaType.APPLICATION_CBOR_VALUE);
+        assertThat(cbor.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(cborHttpMessageConverter.getObjectMapper().readTree(gunzip(cbor))).hasSize(TASKS);
+    }
+
+    @Test
+    void sendsSmallResponsesUncompressed() throws Exception {
+        String taskListId = api.createTaskList("Small");
+
+        HttpResponse<InputStream> response = send("/api/task-lists/" + taskListId, MediaType.APPLICATION_JSON_VALUE);
+
+        assertThat(response.headers().firstValue("Content-Encoding")).isEmpty();
+        try (InputStream body = response.body()) {
+            assertThat(objectMapper.readTree(body).get("title").asText()).isEqualTo("Small");
+        }
+    }
+
+    private String createTaskListWithTasks() throws Exception {
+        String taskListId = api.createTaskList("Compressed");
+        for (int i = 0; i < TASKS; i++) {
+            api.create("/api/task-lists/" + taskListId + "/tasks",
+                    "{\"title\": \"Task " + i + "\", \"description\": \"Description of task " + i + "\", "
+                            + "\"priority\": \"MEDIUM\"}");
+        }
+        return taskListId;
+    }
+
+    private HttpResponse<InputStream> send(String path, String accept) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept)
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response;
+    }
+
+    private static byte[] gunzip(HttpResponse<InputStream> response) throws IOException {
+        try (InputStream body = new GZIPInputStream(response.body())) {
+            return body.readAllBytes();
+        }
+    }
+}
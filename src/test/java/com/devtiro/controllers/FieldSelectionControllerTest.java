@@ -0,0 +1,72 @@
+package com.devtiro.controllers;
+
+import com.devtiro.TaskTrackerApi;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class FieldSelectionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void returnsOnlySelectedTaskFields() throws Exception {
+        String taskListId = api.createTaskList("Sparse");
+        api.create("/api/task-lists/" + taskListId + "/tasks", "{\"title\": \"First\", \"priority\": \"HIGH\"}");
+
+        mockMvc.perform(get("/api/task-lists/" + taskListId + "/tasks").param("fields", "title,priority"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].title").value("First"))
+                .andExpect(jsonPath("$[0].priority").value("HIGH"))
+                .andExpect(jsonPath("$[0].description").doesNotExist())
+                .andExpect(jsonPath("$[0].status").doesNotExist());
+    }
+
+    @Test
+    void aggregatesSelectedTaskListFields() throws Exception {
+        String taskListId = api.createTaskList("Counted");
+        api.create("/api/task-lists/" + taskListId + "/tasks", "{\"title\": \"One\", \"priority\": \"LOW\"}");
+        api.create("/api/task-lists/" + taskListId + "/tasks", "{\"title\": \"Two\", \"priority\": \"LOW\"}");
+
+        mockMvc.perform(get("/api/task-lists/" + taskListId).param("fields", "count"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(taskListId))
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.title").doesNotExist());
+    }
+
+    @Test
+    void rejectsUnknownFieldAsProblem() throws Exception {
+        String taskListId = api.createTaskList("Unknown");
+
+        mockMvc.perform(get("/api/task-lists/" + taskListId + "/tasks").param("fields", "title,owner"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.detail").value(containsString("owner")));
+    }
+}
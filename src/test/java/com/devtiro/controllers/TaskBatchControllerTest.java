@@ -0,0 +1,103 @@
+package com.devtiro.controllers;
+
+import com.devtiro.TaskTrackerApi;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskBatchControllerTest {
+
+    private static final String UNKNOWN_ID = "00000000-0000-0000-0000-000000000002";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void returnsTasksAcrossListsInRequestOrder() throws Exception {
+        String firstListId = api.createTaskList("Batch one");
+        String secondListId = api.createTaskList("Batch two");
+        String first = api.createTask(firstListId, "First");
+        String second = api.createTask(secondListId, "Second");
+
+        mockMvc.perform(batch(List.of(second, UNKNOWN_ID, first, second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(4)))
+                .andExpect(jsonPath("$[0].id").value(second))
+                .andExpect(jsonPath("$[0].found").value(true))
+                .andExpect(jsonPath("$[0].taskListId").value(secondListId))
+                .andExpect(jsonPath("$[0].task.title").value("Second"))
+                .andExpect(jsonPath("$[1].id").value(UNKNOWN_ID))
+                .andExpect(jsonPath("$[1].found").value(false))
+                .andExpect(jsonPath("$[1].task").doesNotExist())
+                .andExpect(jsonPath("$[2].taskListId").value(firstListId))
+                .andExpect(jsonPath("$[3].found").value(true));
+    }
+
+    @Test
+    void tasksOfDeletedListsAreNotFound() throws Exception {
+        String taskListId = api.createTaskList("Batch deleted");
+        String taskId = api.createTask(taskListId, "Gone");
+        mockMvc.perform(delete("/api/task-lists/" + taskListId)).andExpect(status().isNoContent());
+
+        mockMvc.perform(batch(List.of(taskId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].found").value(false));
+    }
+
+    @Test
+    void emptyRequestReturnsEmptyList() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void rejectsNullIds() throws Exception {
+        mockMvc.perform(post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON).content("{\"ids\": [null]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("Task IDs must not be null"));
+    }
+
+    @Test
+    void rejectsMoreIdsThanTheLimit() throws Exception {
+        List<String> ids = Stream.generate(() -> UUID.randomUUID().toString()).limit(1001).toList();
+
+        mockMvc.perform(batch(ids))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+    }
+
+    private RequestBuilder batch(List<String> ids) throws Exception {
+        return post("/api/tasks/batch").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(Map.of("ids", ids)));
+    }
+}
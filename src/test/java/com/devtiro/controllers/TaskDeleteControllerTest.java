@@ -0,0 +1,139 @@
+package com.devtiro.controllers;
+
+import com.devtiro.TaskTrackerApi;
+import com.devtiro.dependencies.TaskDependencyGraph;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static com.devtiro.TaskTrackerApi.tasks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskDeleteControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskDependencyGraph dependencyGraph;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void deletesSingleTaskOnceThenAnswersNotFound() throws Exception {
+        String taskListId = api.createTaskList("Single delete");
+        String taskId = api.createTask(taskListId, "Doomed");
+
+        mockMvc.perform(delete(tasks(taskListId) + "/" + taskId)).andExpect(status().isNoContent());
+        mockMvc.perform(delete(tasks(taskListId) + "/" + taskId)).andExpect(status().isNotFound());
+        mockMvc.perform(get(tasks(taskListId))).andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void deletesSetOfIdsAndCountsOnlyExistingTasksOfTheList() throws Exception {
+        String taskListId = api.createTaskList("Id set delete");
+        String otherTaskListId = api.createTaskList("Other list");
+        String first = api.createTask(taskListId, "First");
+        String second = api.createTask(taskListId, "Second");
+        String kept = api.createTask(taskListId, "Kept");
+        String foreign = api.createTask(otherTaskListId, "Foreign");
+
+        mockMvc.perform(delete(tasks(taskListId)).param("ids", first, second, foreign, "00000000-0000-0000-0000-000000000001"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+
+        mockMvc.perform(get(tasks(taskListId)))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(kept));
+        mockMvc.perform(get(tasks(otherTaskListId))).andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void rejectsMoreIdsThanABatchGetAccepts() throws Exception {
+        String taskListId = api.createTaskList("Too many ids");
+        String[] ids = Stream.generate(() -> UUID.randomUUID().toString()).limit(1001).toArray(String[]::new);
+
+        mockMvc.perform(delete(tasks(taskListId)).param("ids", String.join(",", ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("At most 1000 task IDs can be passed at once"));
+    }
+
+    @Test
+    void deletesEveryTaskWithStatus() throws Exception {
+        String taskListId = api.createTaskList("Status delete");
+        String open = api.createTask(taskListId, "Open");
+        api.closeTask(taskListId, api.createTask(taskListId, "Closed one"));
+        api.closeTask(taskListId, api.createTask(taskListId, "Closed two"));
+
+        mockMvc.perform(delete(tasks(taskListId)).param("status", "CLOSED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+        mockMvc.perform(delete(tasks(taskListId)).param("status", "CLOSED"))
+                .andExpect(jsonPath("$.deleted").value(0));
+
+        mockMvc.perform(get(tasks(taskListId)))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(open));
+    }
+
+    @Test
+    void deletedTaskTakesItsDependenciesWithIt() throws Exception {
+        String taskListId = api.createTaskList("Dependency delete");
+        String blocker = api.createTask(taskListId, "Blocker");
+        String middle = api.createTask(taskListId, "Middle");
+        String blocked = api.createTask(taskListId, "Blocked");
+        addBlocker(taskListId, middle, blocker);
+        addBlocker(taskListId, blocked, middle);
+
+        mockMvc.perform(delete(tasks(taskListId) + "/" + middle)).andExpect(status().isNoContent());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task_dependencies where blocker_id = ? or blocked_id = ?",
+                Long.class, UUID.fromString(middle), UUID.fromString(middle))).isZero();
+        assertThat(dependencyGraph.blockedBy(UUID.fromString(blocker))).isEmpty();
+        assertThat(dependencyGraph.blockersOf(UUID.fromString(blocked))).isEmpty();
+    }
+
+    @Test
+    void deletedTaskListHidesItsTasksFromDeletes() throws Exception {
+        String taskListId = api.createTaskList("Soft deleted");
+        String taskId = api.createTask(taskListId, "Orphan");
+
+        mockMvc.perform(delete("/api/task-lists/" + taskListId)).andExpect(status().isNoContent());
+        mockMvc.perform(delete("/api/task-lists/" + taskListId)).andExpect(status().isNotFound());
+        mockMvc.perform(delete(tasks(taskListId) + "/" + taskId)).andExpect(status().isNotFound());
+    }
+
+    private void addBlocker(String taskListId, String taskId, String blockerId) throws Exception {
+        mockMvc.perform(post(tasks(taskListId) + "/" + taskId + "/blockers").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"blockerId\": \"" + blockerId + "\"}"))
+                .andExpect(status().is2xxSuccessful());
+    }
+}
@@ -0,0 +1,135 @@
+package com.devtiro.controllers;
+
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.repositories.RecordingStatementInspector;
+import com.devtiro.services.TaskListService;
+import com.devtiro.services.TaskService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.test.tester.ExecutionGraphQlServiceTester;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.devtiro.repositories.RecordingStatementInspector")
+@AutoConfigureGraphQlTester
+@AutoConfigureMockMvc
+class TaskGraphQlControllerTest {
+
+    @Autowired
+    private ExecutionGraphQlServiceTester graphQlTester;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Test
+    void servesQueriesOverHttp() throws Exception {
+        createTaskList("Over HTTP");
+
+        mockMvc.perform(post("/graphql")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"query\": \"{ taskLists { title } }\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.taskLists[?(@.title == 'Over HTTP')]").exists());
+    }
+
+    @Test
+    void resolvesNestedFieldsOfATaskList() {
+        UUID taskListId = createTaskList("GraphQL");
+        createTask(taskListId, "Open");
+        closeTask(taskListId, createTask(taskListId, "Closed"));
+
+        graphQlTester.document("query($id: ID!) { taskList(id: $id) { title count progress tasks { title status } } }")
+                .variable("id", taskListId)
+                .execute()
+                .path("taskList.title").entity(String.class).isEqualTo("GraphQL")
+                .path("taskList.count").entity(Integer.class).isEqualTo(2)
+                .path("taskList.progress").entity(Double.class).isEqualTo(0.5)
+                .path("taskList.tasks[*].title").entityList(String.class).hasSize(2).contains("Open", "Closed")
+                .path("taskList.tasks[?(@.title == 'Closed')].status").entityList(String.class).containsExactly("CLOSED");
+    }
+
+    @Test
+    void loadsEachLevelWithOneQueryForAnyNumberOfLists() {
+        for (int i = 0; i < 3; i++) {
+            UUID taskListId = createTaskList("Batched " + i);
+            createTask(taskListId, "First");
+            createTask(taskListId, "Second");
+        }
+        RecordingStatementInspector.drain();
+
+        graphQlTester.document("{ taskLists { title count progress tasks { title } } }")
+                .execute()
+                .path("taskLists[*].title").entityList(String.class)
+                .contains("Batched 0", "Batched 1", "Batched 2");
+
+        // The lists, their tasks and their stats, with count and progress sharing one loader
+        List<String> statements = RecordingStatementInspector.drain();
+        assertThat(statements).hasSize(3);
+        assertThat(statements).filteredOn(sql -> sql.contains(" in (")).hasSize(2);
+    }
+
+    @Test
+    void rejectsQueriesDeeperThanTheLimitBeforeRunningThem() {
+        RecordingStatementInspector.drain();
+
+        graphQlTester.document("{ taskLists { tasks { title } } __schema { types { fields { type { ofType { name } } } } } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .extracting(ResponseError::getMessage).asString().contains("maximum query depth exceeded"));
+
+        assertThat(RecordingStatementInspector.drain()).isEmpty();
+    }
+
+    @Test
+    void rejectsQueriesAboveTheComplexityLimitBeforeRunningThem() {
+        RecordingStatementInspector.drain();
+        String lists = "taskLists { id title tasks { id title description dueDate priority status } }";
+
+        // Each alias weighs 10 * (1 + 2 + 10 * (1 + 6)) = 730, two of them exceed 1000
+        graphQlTester.document("{ first: " + lists + " second: " + lists + " }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertThat(errors).singleElement()
+                        .extracting(ResponseError::getMessage).asString().contains("maximum query complexity exceeded"));
+
+        assertThat(RecordingStatementInspector.drain()).isEmpty();
+    }
+
+    private UUID createTaskList(String title) {
+        return taskListService.createTaskLists(new TaskList(null, title, null, null, null, null)).getId();
+    }
+
+    private UUID createTask(UUID taskListId, String title) {
+        return taskService.createTask(taskListId,
+                new Task(null, title, null, null, null, TaskPriority.MEDIUM, null, null, null)).getId();
+    }
+
+    private void closeTask(UUID taskListId, UUID taskId) {
+        taskService.updateTask(taskListId, taskId,
+                new Task(taskId, "Closed", null, null, TaskStatus.CLOSED, TaskPriority.MEDIUM, null, null, null));
+    }
+}
@@ -0,0 +1,167 @@
+package com.devtiro.dependencies;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DependencyGraphTest {
+
+    @Test
+    void edgesAddedAgainstTheOrderReorderTheAffectedNodes() {
+        DependencyGraph<Integer> graph = new DependencyGraph<>();
+        // Every edge points to a node registered before its source, so each insert has to reorder
+        for (int i = 9; i > 0; i--) {
+            assertThat(graph.addEdge(i - 1, i)).isTrue();
+        }
+
+        assertThat(graph.longestPath(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9)))
+                .containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(graph.addEdge(9, 0)).isFalse();
+        assertThat(graph.addEdge(5, 2)).isFalse();
+        assertThat(graph.edgeCount()).isEqualTo(9);
+    }
+
+    @Test
+    void reorderingKeepsUnrelatedNodesInPlace() {
+        DependencyGraph<String> graph = new DependencyGraph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("c", "d");
+        graph.addEdge("e", "f");
+
+        // f is ordered after a and b, this moves f and its predecessor e in front of a
+        assertThat(graph.addEdge("f", "a")).isTrue();
+
+        assertThat(graph.longestPath(List.of("a", "b", "c", "d", "e", "f"))).containsExactly("e", "f", "a", "b");
+        assertThat(graph.addEdge("b", "e")).isFalse();
+        assertThat(graph.addEdge("d", "e")).isTrue();
+        assertThat(graph.longestPath(List.of("a", "b", "c", "d", "e", "f")))
+                .containsExactly("c", "d", "e", "f", "a", "b");
+    }
+
+    @Test
+    void randomEdgesAreRejectedExactlyWhenTheyCloseACycle() {
+        Random random = new Random(42);
+        DependencyGraph<Integer> graph = new DependencyGraph<>();
+        Map<Integer, Set<Integer>> oracle = new HashMap<>();
+
+        for (int i = 0; i < 2_000; i++) {
+            int from = random.nextInt(60);
+            int to = random.nextInt(60);
+            boolean acyclic = from != to && !reaches(oracle, to, from);
+            assertThat(graph.addEdge(from, to)).as("%s -> %s", from, to).isEqualTo(acyclic);
+            if (acyclic) {
+                oracle.computeIfAbsent(from, key -> new HashSet<>()).add(to);
+            }
+        }
+
+        assertThat(graph.edgeCount()).isEqualTo(oracle.values().stream().mapToInt(Set::size).sum());
+        List<Integer> nodes = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            nodes.add(i);
+        }
+        List<Integer> path = graph.longestPath(nodes);
+        for (int i = 1; i < path.size(); i++) {
+            assertThat(oracle.get(path.get(i - 1))).contains(path.get(i));
+        }
+        assertThat(path).hasSize(longestPath(oracle, nodes));
+    }
+
+    @Test
+    void ofSkipsEdgesClosingACycle() {
+        List<DependencyGraph.Edge<String>> rejected = new ArrayList<>();
+        DependencyGraph<String> graph = DependencyGraph.of(List.of(
+                new DependencyGraph.Edge<>("a", "b"),
+                new DependencyGraph.Edge<>("b", "c"),
+                new DependencyGraph.Edge<>("c", "a"),
+                new DependencyGraph.Edge<>("c", "d"),
+                new DependencyGraph.Edge<>("e", "e")), rejected);
+
+        assertThat(rejected).containsExactly(new DependencyGraph.Edge<>("c", "a"), new DependencyGraph.Edge<>("e", "e"));
+        assertThat(graph.edgeCount()).isEqualTo(3);
+        assertThat(graph.longestPath(List.of("a", "b", "c", "d"))).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    void longestPathOnlyFollowsTheGivenNodes() {
+        DependencyGraph<String> graph = new DependencyGraph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+        graph.addEdge("c", "d");
+        graph.addEdge("a", "x");
+        graph.addEdge("x", "d");
+
+        assertThat(graph.longestPath(List.of("a", "b", "c", "d"))).containsExactly("a", "b", "c", "d");
+        assertThat(graph.longestPath(List.of("a", "c", "d", "x"))).containsExactly("a", "x", "d");
+        assertThat(graph.longestPath(List.of("b", "unknown"))).containsExactly("b");
+        assertThat(graph.longestPath(List.of())).isEmpty();
+    }
+
+    @Test
+    void removeNodeDropsAllItsEdges() {
+        DependencyGraph<String> graph = new DependencyGraph<>();
+        graph.addEdge("a", "b");
+        graph.addEdge("b", "c");
+        graph.addEdge("d", "b");
+
+        assertThat(graph.removeNode("b")).isTrue();
+        assertThat(graph.removeNode("b")).isFalse();
+
+        assertThat(graph.edgeCount()).isZero();
+        assertThat(graph.successors("a")).isEmpty();
+        assertThat(graph.predecessors("c")).isEmpty();
+        assertThat(graph.successors("b")).isEmpty();
+        assertThat(graph.addEdge("c", "b")).isTrue();
+        assertThat(graph.addEdge("b", "a")).isTrue();
+        assertThat(graph.longestPath(List.of("a", "b", "c"))).containsExactly("c", "b", "a");
+    }
+
+    private static boolean reaches(Map<Integer, Set<Integer>> edges, int from, int to) {
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>(List.of(from));
+        while (!stack.isEmpty()) {
+            int node = stack.pop();
+            if (node == to) {
+                return true;
+            }
+            if (seen.add(node)) {
+                stack.addAll(edges.getOrDefault(node, Set.of()));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of nodes on the longest path, by memoized depth first search.
+     */
+    private static int longestPath(Map<Integer, Set<Integer>> edges, List<Integer> nodes) {
+        Map<Integer, Integer> lengths = new HashMap<>();
+        int longest = 0;
+        for (int node : nodes) {
+            longest = Math.max(longest, lengthFrom(edges, node, lengths));
+        }
+        return longest;
+    }
+
+    private static int lengthFrom(Map<Integer, Set<Integer>> edges, int node, Map<Integer, Integer> lengths) {
+        Integer known = lengths.get(node);
+        if (null != known) {
+            return known;
+        }
+        int length = 1;
+        for (int next : edges.getOrDefault(node, Set.of())) {
+            length = Math.max(length, 1 + lengthFrom(edges, next, lengths));
+        }
+        lengths.put(node, length);
+        return length;
+    }
+}
@@ -0,0 +1,168 @@
+package com.devtiro.dependencies;
+
+import com.devtiro.domain.entities.JobLease;
+import com.devtiro.domain.entities.TaskDependency;
+import com.devtiro.repositories.JobLeaseRepository;
+import com.devtiro.repositories.TaskDependencyRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskDependencyGraphTest {
+
+    private final TaskDependencyRepository taskDependencyRepository = mock(TaskDependencyRepository.class);
+    private final JobLeaseRepository jobLeaseRepository = mock(JobLeaseRepository.class);
+    private final TaskDependencyGraph graph = new TaskDependencyGraph(taskDependencyRepository, jobLeaseRepository);
+    private final UUID blocker = UUID.randomUUID();
+    private final UUID blocked = UUID.randomUUID();
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void rollbackTakesTheEdgeOut() {
+        List<TransactionSynchronization> transaction = inTransaction(() -> assertThat(graph.add(blocker, blocked)).isTrue());
+
+        complete(transaction, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(graph.blockersOf(blocked)).isEmpty();
+    }
+
+    @Test
+    void rollbackKeepsAnEdgeAnotherTransactionCommitted() {
+        List<TransactionSynchronization> first = inTransaction(() -> graph.add(blocker, blocked));
+        List<TransactionSynchronization> second = inTransaction(() -> graph.add(blocker, blocked));
+
+        complete(second, TransactionSynchronization.STATUS_COMMITTED);
+        complete(first, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+    }
+
+    @Test
+    void edgeIsTakenOutWhenEveryTransactionAddingItRolledBack() {
+        List<TransactionSynchronization> first = inTransaction(() -> graph.add(blocker, blocked));
+        List<TransactionSynchronization> second = inTransaction(() -> graph.add(blocker, blocked));
+
+        complete(first, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+        complete(second, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(graph.blockersOf(blocked)).isEmpty();
+    }
+
+    @Test
+    void rollbackKeepsAnEdgeCommittedBefore() {
+        complete(inTransaction(() -> graph.add(blocker, blocked)), TransactionSynchronization.STATUS_COMMITTED);
+
+        List<TransactionSynchronization> transaction = inTransaction(() -> assertThat(graph.add(blocker, blocked)).isTrue());
+        complete(transaction, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+    }
+
+    @Test
+    void reloadKeepsUncommittedEdges() {
+        when(taskDependencyRepository.findAfter(any(), any())).thenReturn(List.of());
+        List<TransactionSynchronization> transaction = inTransaction(() -> graph.add(blocker, blocked));
+
+        graph.reload();
+
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+        complete(transaction, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(graph.blockersOf(blocked)).isEmpty();
+    }
+
+    @Test
+    void removedTasksLeaveTheGraphOnCommitOnly() {
+        complete(inTransaction(() -> graph.add(blocker, blocked)), TransactionSynchronization.STATUS_COMMITTED);
+
+        List<TransactionSynchronization> rolledBack = inTransaction(() -> graph.removeTasks(List.of(blocker)));
+        complete(rolledBack, TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertThat(graph.blockedBy(blocker)).containsExactly(blocked);
+
+        List<TransactionSynchronization> committed = inTransaction(() -> graph.removeTasks(List.of(blocker)));
+        complete(committed, TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(graph.blockedBy(blocker)).isEmpty();
+        assertThat(graph.blockersOf(blocked)).isEmpty();
+        assertThat(graph.size()).isZero();
+    }
+
+    @Test
+    void pollReloadsOnlyWhenAnotherInstanceWrote() {
+        LocalDateTime version = LocalDateTime.now();
+        when(jobLeaseRepository.findCheckpoint("task-dependencies")).thenReturn(Optional.of(version));
+        when(taskDependencyRepository.findAfter(any(), any())).thenReturn(List.of());
+        graph.pollChanges();
+        verify(taskDependencyRepository).findAfter(any(), any());
+
+        graph.pollChanges();
+        verify(taskDependencyRepository).findAfter(any(), any());
+
+        when(jobLeaseRepository.findCheckpoint("task-dependencies")).thenReturn(Optional.of(version.plusSeconds(1)));
+        when(taskDependencyRepository.findAfter(any(), any()))
+                .thenReturn(List.of(new TaskDependency(UUID.randomUUID(), blocker, blocked, version)));
+        graph.pollChanges();
+
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+    }
+
+    @Test
+    void ownCommittedWriteDoesNotTriggerAReload() {
+        LocalDateTime version = LocalDateTime.now();
+        when(jobLeaseRepository.findCheckpoint("task-dependencies")).thenReturn(Optional.of(version));
+        when(taskDependencyRepository.findAfter(any(), any())).thenReturn(List.of());
+        graph.reload();
+        JobLease lock = new JobLease("task-dependencies", null, version);
+        lock.setCheckpoint(version);
+        when(jobLeaseRepository.lockByName("task-dependencies")).thenReturn(Optional.of(lock));
+
+        complete(inTransaction(() -> {
+            graph.lockForWrite();
+            graph.add(blocker, blocked);
+        }), TransactionSynchronization.STATUS_COMMITTED);
+        when(jobLeaseRepository.findCheckpoint("task-dependencies")).thenReturn(Optional.of(lock.getCheckpoint()));
+        graph.pollChanges();
+
+        assertThat(lock.getCheckpoint()).isAfter(version);
+        verify(taskDependencyRepository, times(1)).findAfter(any(), any());
+        assertThat(graph.blockersOf(blocked)).containsExactly(blocker);
+    }
+
+    /**
+     * Runs {@code action} with synchronization active and returns what it registered, without completing it.
+     */
+    private static List<TransactionSynchronization> inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            return TransactionSynchronizationManager.getSynchronizations();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void complete(List<TransactionSynchronization> synchronizations, int status) {
+        if (TransactionSynchronization.STATUS_COMMITTED == status) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
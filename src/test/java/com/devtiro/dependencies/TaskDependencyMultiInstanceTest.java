@@ -0,0 +1,145 @@
+package com.devtiro.dependencies;
+
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.exception.ConflictException;
+import com.devtiro.repositories.JobLeaseRepository;
+import com.devtiro.repositories.TaskDependencyRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.TaskDependencyService;
+import com.devtiro.services.TaskListService;
+import com.devtiro.services.TaskService;
+import com.devtiro.services.impl.TaskDependencyServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A second instance is simulated with its own {@link TaskDependencyGraph} on the same database.
+ */
+@SpringBootTest
+class TaskDependencyMultiInstanceTest {
+
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    @Autowired
+    private TaskDependencyGraph taskDependencyGraph;
+
+    @Autowired
+    private TaskDependencyRepository taskDependencyRepository;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void edgeCommittedOnAnotherInstanceRejectsTheReverseEdge() {
+        UUID taskListId = createTaskList();
+        UUID first = createTask(taskListId, "First");
+        UUID second = createTask(taskListId, "Second");
+        TaskDependencyGraph otherGraph = new TaskDependencyGraph(taskDependencyRepository, jobLeaseRepository);
+        TaskDependencyService otherInstance = otherInstance(otherGraph);
+
+        taskDependencyService.addBlocker(taskListId, second, first);
+
+        // The other instance has not polled yet, its graph alone would accept the reverse edge
+        assertThat(otherGraph.blockersOf(first)).isEmpty();
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status ->
+                otherInstance.addBlocker(taskListId, first, second)))
+                .isInstanceOf(ConflictException.class);
+
+        otherGraph.pollChanges();
+        assertThat(otherGraph.blockersOf(second)).containsExactly(first);
+    }
+
+    @Test
+    void concurrentReverseEdgesOnTwoInstancesCommitOnlyOne() throws Exception {
+        UUID taskListId = createTaskList();
+        UUID first = createTask(taskListId, "First");
+        UUID second = createTask(taskListId, "Second");
+        TaskDependencyService otherInstance = otherInstance(
+                new TaskDependencyGraph(taskDependencyRepository, jobLeaseRepository));
+        CountDownLatch added = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    taskDependencyService.addBlocker(taskListId, second, first);
+                    added.countDown();
+                    await(commit);
+                }));
+        assertThat(added.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> reverse = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> otherInstance.addBlocker(taskListId, first, second)));
+        // The reverse insert waits for the lock the first transaction holds until it commits
+        Thread.sleep(200);
+        assertThat(reverse).isNotDone();
+        commit.countDown();
+
+        holder.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> reverse.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(ConflictException.class);
+        assertThat(taskDependencyRepository.existsByBlockerIdAndBlockedId(first, second)).isTrue();
+        assertThat(taskDependencyRepository.existsByBlockerIdAndBlockedId(second, first)).isFalse();
+    }
+
+    @Test
+    void removalOnAnotherInstanceReachesThisGraphWithTheNextPoll() {
+        UUID taskListId = createTaskList();
+        UUID first = createTask(taskListId, "First");
+        UUID second = createTask(taskListId, "Second");
+        taskDependencyService.addBlocker(taskListId, second, first);
+        TaskDependencyGraph otherGraph = new TaskDependencyGraph(taskDependencyRepository, jobLeaseRepository);
+        otherGraph.reload();
+
+        transactionTemplate.executeWithoutResult(status ->
+                otherInstance(otherGraph).removeBlocker(taskListId, second, first));
+        assertThat(taskDependencyGraph.blockersOf(second)).containsExactly(first);
+
+        taskDependencyGraph.pollChanges();
+
+        assertThat(taskDependencyGraph.blockersOf(second)).isEmpty();
+    }
+
+    private TaskDependencyService otherInstance(TaskDependencyGraph graph) {
+        return new TaskDependencyServiceImpl(taskDependencyRepository, taskRepository, graph, 500);
+    }
+
+    private UUID createTaskList() {
+        return taskListService.createTaskLists(new TaskList(null, "Dependencies", null, null, null, null)).getId();
+    }
+
+    private UUID createTask(UUID taskListId, String title) {
+        return taskService.createTask(taskListId,
+                new Task(null, title, null, null, null, TaskPriority.MEDIUM, null, null, null)).getId();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.devtiro.domain.dto;
+
+import com.devtiro.exception.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class FieldSelectionTest {
+
+    @Test
+    void selectsNamedFieldsInRequestOrderAfterTheId() {
+        assertThat(FieldSelection.parse(TaskField.class, "status, title,,dueDate"))
+                .containsExactly(TaskField.ID, TaskField.STATUS, TaskField.TITLE, TaskField.DUE_DATE);
+    }
+
+    @Test
+    void alwaysSelectsTheId() {
+        assertThat(FieldSelection.parse(TaskListField.class, "")).containsExactly(TaskListField.ID);
+        assertThat(FieldSelection.parse(TaskListField.class, "count,id")).containsExactly(TaskListField.ID, TaskListField.COUNT);
+    }
+
+    @Test
+    void rejectsUnknownFieldsWithTheValidNames() {
+        assertThatThrownBy(() -> FieldSelection.parse(TaskListField.class, "title,dueDate"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("dueDate")
+                .hasMessageContaining("id, title, description, count, progress");
+        assertThatThrownBy(() -> FieldSelection.parse(TaskField.class, "count"))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("id, title, description, dueDate, priority, status");
+    }
+
+    @Test
+    void unknownFieldErrorNamesTheFieldWithoutAStackTrace() {
+        ValidationException error = catchThrowableOfType(ValidationException.class,
+                () -> FieldSelection.parse(TaskField.class, "title,nope"));
+
+        assertThat(error).hasMessageStartingWith("Unknown field 'nope', expected one of id, title");
+        assertThat(error.getStackTrace()).isEmpty();
+    }
+
+    @Test
+    void matchesApiNamesNotEnumNames() {
+        assertThatThrownBy(() -> FieldSelection.parse(TaskField.class, "DUE_DATE"))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.devtiro.domain.entities;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecurringTaskTemplateTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 31, 9, 0);
+
+    @Test
+    void occurrencesAreSpacedByInterval() {
+        RecurringTaskTemplate template = template(RecurrenceFrequency.DAILY, 3, null);
+
+        assertThat(template.occurrence(0)).isEqualTo(START);
+        assertThat(template.occurrence(1)).isEqualTo(START.plusDays(3));
+        assertThat(template.occurrence(10)).isEqualTo(START.plusDays(30));
+    }
+
+    @Test
+    void weeklyOccurrencesKeepTheWeekday() {
+        RecurringTaskTemplate template = template(RecurrenceFrequency.WEEKLY, 2, null);
+
+        assertThat(template.occurrence(3)).isEqualTo(START.plusWeeks(6));
+        assertThat(template.occurrence(3).getDayOfWeek()).isEqualTo(START.getDayOfWeek());
+    }
+
+    @Test
+    void monthlyOccurrencesAreDerivedFromTheStartNotThePreviousOccurrence() {
+        RecurringTaskTemplate template = template(RecurrenceFrequency.MONTHLY, 1, null);
+
+        // February is clamped to its last day, March goes back to the 31st
+        assertThat(template.occurrence(1)).isEqualTo(LocalDateTime.of(2026, 2, 28, 9, 0));
+        assertThat(template.occurrence(2)).isEqualTo(LocalDateTime.of(2026, 3, 31, 9, 0));
+    }
+
+    @Test
+    void occurrencesAfterEndsAtAreNull() {
+        RecurringTaskTemplate template = template(RecurrenceFrequency.DAILY, 1, START.plusDays(2));
+
+        assertThat(template.occurrence(2)).isEqualTo(START.plusDays(2));
+        assertThat(template.occurrence(3)).isNull();
+        assertThat(template.occurrence(100)).isNull();
+    }
+
+    private static RecurringTaskTemplate template(RecurrenceFrequency frequency, int interval, LocalDateTime endsAt) {
+        return new RecurringTaskTemplate(null, "Recurring", null, TaskPriority.MEDIUM, frequency, interval,
+                START, endsAt, null, START, START);
+    }
+}
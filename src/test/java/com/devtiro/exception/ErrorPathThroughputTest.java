@@ -0,0 +1,131 @@
+package com.devtiro.exception;
+
+import com.devtiro.TaskTrackerApi;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Throughput and allocation of the error path. Exceptions are first thrown 60 frames deep and caught,
+ * comparing a new {@link IllegalArgumentException}, a new stackless {@link ValidationException} and a
+ * preallocated one. Then whole requests that fail with 400 and 404 go through MockMvc, the controller
+ * advice and the problem details serialization. Run with {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@AutoConfigureMockMvc
+class ErrorPathThroughputTest {
+
+    private static final int DEPTH = 60;
+    private static final int THROWS_PER_ROUND = 200_000;
+    private static final int REQUESTS_PER_ROUND = 5_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int ROUNDS = 7;
+    private static final ValidationException PREALLOCATED = new ValidationException("Task must have title");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Consumed by the loops so the throws cannot be optimized away
+    private long sink;
+
+    @Test
+    void throwAndCatch() {
+        measureThrows("new IllegalArgumentException", () -> new IllegalArgumentException("Task must have title"));
+        measureThrows("new ValidationException", () -> new ValidationException("Task must have title"));
+        measureThrows("preallocated ValidationException", () -> PREALLOCATED);
+    }
+
+    @Test
+    void failingRequests() throws Exception {
+        String taskListId = new TaskTrackerApi(mockMvc, objectMapper).createTaskList("Errors");
+
+        measureRequests("404 missing task",
+                get("/api/task-lists/" + taskListId + "/tasks/" + UUID.randomUUID()), 404);
+        measureRequests("400 unknown field",
+                get("/api/task-lists/" + taskListId + "/tasks").param("fields", "title,owner"), 400);
+    }
+
+    private void measureThrows(String name, Supplier<RuntimeException> exception) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            throwRound(exception);
+        }
+        double[] nanos = new double[ROUNDS];
+        double[] bytes = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            throwRound(exception);
+            nanos[round] = (double) (System.nanoTime() - start) / THROWS_PER_ROUND;
+            bytes[round] = (double) (allocatedBytes() - allocatedBefore) / THROWS_PER_ROUND;
+        }
+        System.out.printf("%-34s %10.0f ops/s %8.0f ns/op %8.0f B/op%n",
+                name, 1e9 / median(nanos), median(nanos), median(bytes));
+    }
+
+    private void throwRound(Supplier<RuntimeException> exception) {
+        for (int i = 0; i < THROWS_PER_ROUND; i++) {
+            try {
+                throwAt(DEPTH, exception);
+            } catch (RuntimeException ex) {
+                sink += ex.getMessage().length();
+            }
+        }
+    }
+
+    private int throwAt(int depth, Supplier<RuntimeException> exception) {
+        if (depth == 0) {
+            throw exception.get();
+        }
+        return throwAt(depth - 1, exception) + 1;
+    }
+
+    private void measureRequests(String name, RequestBuilder request, int expectedStatus) throws Exception {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            requestRound(request, expectedStatus);
+        }
+        double[] micros = new double[ROUNDS];
+        double[] bytes = new double[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long allocatedBefore = allocatedBytes();
+            long start = System.nanoTime();
+            requestRound(request, expectedStatus);
+            micros[round] = (System.nanoTime() - start) / 1_000.0 / REQUESTS_PER_ROUND;
+            bytes[round] = (double) (allocatedBytes() - allocatedBefore) / REQUESTS_PER_ROUND;
+        }
+        System.out.printf("%-34s %10.0f req/s %8.1f us/op %8.0f B/op%n",
+                name, 1e6 / median(micros), median(micros), median(bytes));
+    }
+
+    private void requestRound(RequestBuilder request, int expectedStatus) throws Exception {
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            mockMvc.perform(request).andExpect(status().is(expectedStatus));
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
@@ -0,0 +1,66 @@
+package com.devtiro.exception;
+
+import com.devtiro.ordering.RankKeys;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class GlobalExceptionHandlerTest {
+
+    private final MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new FailingController())
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void domainExceptionsMapToTheirStatus() throws Exception {
+        mockMvc.perform(get("/not-found"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value("Task not found"))
+                .andExpect(jsonPath("$.instance").value("/not-found"));
+        mockMvc.perform(get("/conflict")).andExpect(status().isConflict());
+        mockMvc.perform(get("/validation")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void illegalArgumentIsAnInternalErrorWithoutItsMessage() throws Exception {
+        mockMvc.perform(get("/illegal-argument"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(500))
+                .andExpect(jsonPath("$.detail").value("Internal server error"))
+                .andExpect(jsonPath("$.instance").value("/illegal-argument"));
+    }
+
+    @RestController
+    static class FailingController {
+
+        @GetMapping("/not-found")
+        void notFound() {
+            throw new NotFoundException("Task not found");
+        }
+
+        @GetMapping("/conflict")
+        void conflict() {
+            throw new ConflictException("Dependency would create a cycle");
+        }
+
+        @GetMapping("/validation")
+        void validation() {
+            throw new ValidationException("Task must have title");
+        }
+
+        @GetMapping("/illegal-argument")
+        String illegalArgument() {
+            return RankKeys.between("i00000002i", "i00000001i");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.devtiro.jobs;
+
+import com.devtiro.repositories.JobLeaseRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class JobLeasesTest {
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void onlyOneNodeHoldsALeaseUntilItIsReleased() {
+        JobLeases first = new JobLeases(jobLeaseRepository, transactionTemplate);
+        JobLeases second = new JobLeases(jobLeaseRepository, transactionTemplate);
+
+        assertThat(first.tryAcquire("test-exclusive", Duration.ofMinutes(5))).isTrue();
+        assertThat(second.tryAcquire("test-exclusive", Duration.ofMinutes(5))).isFalse();
+        assertThat(first.tryAcquire("test-exclusive", Duration.ofMinutes(5))).isTrue();
+
+        first.release("test-exclusive");
+        assertThat(second.tryAcquire("test-exclusive", Duration.ofMinutes(5))).isTrue();
+        assertThat(first.tryAcquire("test-exclusive", Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    void expiredLeaseIsTakenOver() {
+        JobLeases first = new JobLeases(jobLeaseRepository, transactionTemplate);
+        JobLeases second = new JobLeases(jobLeaseRepository, transactionTemplate);
+
+        assertThat(first.tryAcquire("test-expiry", Duration.ofMillis(-1))).isTrue();
+        assertThat(second.tryAcquire("test-expiry", Duration.ofMinutes(5))).isTrue();
+        assertThat(first.tryAcquire("test-expiry", Duration.ofMinutes(5))).isFalse();
+    }
+
+    @Test
+    void checkpointIsStoredOnlyByTheHolder() {
+        JobLeases first = new JobLeases(jobLeaseRepository, transactionTemplate);
+        JobLeases second = new JobLeases(jobLeaseRepository, transactionTemplate);
+        LocalDateTime checkpoint = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+        assertThat(first.checkpoint("test-checkpoint")).isEmpty();
+        assertThat(first.tryAcquire("test-checkpoint", Duration.ofMinutes(5))).isTrue();
+        assertThat(first.saveCheckpoint("test-checkpoint", checkpoint)).isTrue();
+        assertThat(second.saveCheckpoint("test-checkpoint", checkpoint.plusHours(1))).isFalse();
+
+        first.release("test-checkpoint");
+        assertThat(second.checkpoint("test-checkpoint")).contains(checkpoint);
+    }
+}
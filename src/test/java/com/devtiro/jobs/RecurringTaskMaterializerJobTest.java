@@ -0,0 +1,98 @@
+package com.devtiro.jobs;
+
+import com.devtiro.TaskTrackerApi;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.devtiro.TaskTrackerApi.tasks;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecurringTaskMaterializerJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RecurringTaskMaterializerJob materializerJob;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void createsEachOccurrenceOnceUntilTheScheduleEnds() throws Exception {
+        String taskListId = api.createTaskList("Ending schedule");
+        LocalDateTime startsAt = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        String templateId = createTemplate(taskListId, "DAILY", 2, startsAt, startsAt.plusDays(5));
+
+        materializerJob.materializeRecurringTasks();
+        materializerJob.materializeRecurringTasks();
+
+        assertThat(dueDates(taskListId)).containsExactlyInAnyOrder(
+                startsAt, startsAt.plusDays(2), startsAt.plusDays(4));
+        assertThat(template(taskListId, templateId).get("nextOccurrence").isNull()).isTrue();
+    }
+
+    @Test
+    void createsOccurrencesWithinTheHorizonAndAdvancesNextOccurrence() throws Exception {
+        String taskListId = api.createTaskList("Open schedule");
+        LocalDateTime startsAt = LocalDateTime.now().plusHours(1).truncatedTo(ChronoUnit.SECONDS);
+        String templateId = createTemplate(taskListId, "DAILY", 1, startsAt, null);
+
+        materializerJob.materializeRecurringTasks();
+
+        // The default horizon is 14 days, the 15th occurrence lies an hour beyond it
+        List<LocalDateTime> expected = new ArrayList<>();
+        for (int day = 0; day < 14; day++) {
+            expected.add(startsAt.plusDays(day));
+        }
+        assertThat(dueDates(taskListId)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(LocalDateTime.parse(template(taskListId, templateId).get("nextOccurrence").asText()))
+                .isEqualTo(startsAt.plusDays(14));
+
+        materializerJob.materializeRecurringTasks();
+        assertThat(dueDates(taskListId)).hasSize(14);
+    }
+
+    private String createTemplate(String taskListId, String frequency, int interval,
+                                  LocalDateTime startsAt, LocalDateTime endsAt) throws Exception {
+        String body = "{\"title\": \"Recurring\", \"frequency\": \"" + frequency + "\", \"interval\": " + interval
+                + ", \"startsAt\": \"" + startsAt + "\""
+                + (null == endsAt ? "" : ", \"endsAt\": \"" + endsAt + "\"") + "}";
+        return api.create(recurringTasks(taskListId), body);
+    }
+
+    private JsonNode template(String taskListId, String templateId) throws Exception {
+        return api.getJson(recurringTasks(taskListId) + "/" + templateId);
+    }
+
+    private List<LocalDateTime> dueDates(String taskListId) throws Exception {
+        JsonNode tasks = api.getJson(tasks(taskListId));
+        List<LocalDateTime> dueDates = new ArrayList<>();
+        tasks.forEach(task -> dueDates.add(LocalDateTime.parse(task.get("dueDate").asText())));
+        return dueDates;
+    }
+
+    private static String recurringTasks(String taskListId) {
+        return "/api/task-lists/" + taskListId + "/recurring-tasks";
+    }
+}
@@ -0,0 +1,100 @@
+package com.devtiro.jobs;
+
+import com.devtiro.TaskTrackerApi;
+import com.devtiro.dependencies.TaskDependencyGraph;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.devtiro.TaskTrackerApi.tasks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskArchiveJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskArchiveJob archiveJob;
+
+    @Autowired
+    private TaskDependencyGraph dependencyGraph;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void archivedTaskGetsAnArchivedHistoryEntryAndKeepsItsState() throws Exception {
+        String taskListId = api.createTaskList("Archive");
+        String closed = api.createTask(taskListId, "Done long ago");
+        String open = api.createTask(taskListId, "Still open");
+        api.closeTask(taskListId, closed);
+        jdbcTemplate.update("update tasks set updated = ? where id = ?",
+                LocalDateTime.now().minusDays(31), UUID.fromString(closed));
+
+        archiveJob.archiveClosedTasks();
+
+        mockMvc.perform(get(tasks(taskListId) + "/" + closed)).andExpect(status().isNotFound());
+        mockMvc.perform(get(tasks(taskListId) + "/" + closed).param("includeArchived", "true"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(tasks(taskListId) + "/" + open)).andExpect(status().isOk());
+
+        JsonNode history = api.getJson(tasks(taskListId) + "/" + closed + "/history");
+        JsonNode last = history.get(history.size() - 1);
+        assertThat(last.get("changeType").asText()).isEqualTo("ARCHIVED");
+        assertThat(last.get("changes").isEmpty()).isTrue();
+        // Created at revision 1, closed at 2
+        assertThat(last.get("revision").asLong()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("select revision from archived_tasks where id = ?", Long.class,
+                UUID.fromString(closed))).isEqualTo(last.get("revision").asLong());
+
+        mockMvc.perform(get(tasks(taskListId) + "/" + closed).param("asOf", LocalDateTime.now().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Closed"));
+    }
+
+    @Test
+    void archivedTaskTakesItsDependenciesWithIt() throws Exception {
+        String taskListId = api.createTaskList("Archive dependencies");
+        String closed = api.createTask(taskListId, "Blocker done long ago");
+        String open = api.createTask(taskListId, "Was blocked");
+        mockMvc.perform(post(tasks(taskListId) + "/" + open + "/blockers").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"blockerId\": \"" + closed + "\"}"))
+                .andExpect(status().is2xxSuccessful());
+        api.closeTask(taskListId, closed);
+        jdbcTemplate.update("update tasks set updated = ? where id = ?",
+                LocalDateTime.now().minusDays(31), UUID.fromString(closed));
+
+        archiveJob.archiveClosedTasks();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from task_dependencies where blocker_id = ?",
+                Long.class, UUID.fromString(closed))).isZero();
+        assertThat(dependencyGraph.blockersOf(UUID.fromString(open))).isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.devtiro.jobs;
+
+import com.devtiro.TaskTrackerApi;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.devtiro.TaskTrackerApi.tasks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskListPurgeJobTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskArchiveJob archiveJob;
+
+    @Autowired
+    private TaskListPurgeJob purgeJob;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void purgedTasksAndArchivedTasksGetDeletedHistoryEntries() throws Exception {
+        String taskListId = api.createTaskList("Purge");
+        String open = api.createTask(taskListId, "Open");
+        String archived = api.createTask(taskListId, "Archived");
+        api.closeTask(taskListId, archived);
+        jdbcTemplate.update("update tasks set updated = ? where id = ?",
+                LocalDateTime.now().minusDays(31), UUID.fromString(archived));
+        archiveJob.archiveClosedTasks();
+
+        mockMvc.perform(delete("/api/task-lists/" + taskListId)).andExpect(status().isNoContent());
+        // The scheduled run may hold the lease, then the list is purged by that run
+        await().atMost(Duration.ofSeconds(30)).untilAsserted(() -> {
+            purgeJob.purgeDeletedTaskLists();
+            assertThat(jdbcTemplate.queryForObject("select count(*) from task_lists where id = ?", Long.class,
+                    UUID.fromString(taskListId))).isZero();
+        });
+
+        // Created at revision 1, closed at 2, archived at 3
+        assertThat(lastChange(taskListId, open)).isEqualTo("DELETED@2");
+        assertThat(lastChange(taskListId, archived)).isEqualTo("DELETED@4");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from archived_tasks where task_list_id = ?", Long.class,
+                UUID.fromString(taskListId))).isZero();
+    }
+
+    private String lastChange(String taskListId, String taskId) throws Exception {
+        JsonNode history = api.getJson(tasks(taskListId) + "/" + taskId + "/history");
+        JsonNode last = history.get(history.size() - 1);
+        return last.get("changeType").asText() + "@" + last.get("revision").asLong();
+    }
+}
@@ -0,0 +1,113 @@
+package com.devtiro.jobs;
+
+import com.devtiro.TaskTrackerApi;
+import com.devtiro.repositories.JobLeaseRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.devtiro.TaskTrackerApi.tasks;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class TaskPositionRebalanceJobTest {
+
+    private static final String LEASE_NAME = "task-position-rebalance";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private JobLeaseRepository jobLeaseRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TaskPositionRebalanceJob rebalanceJob;
+
+    private TaskTrackerApi api;
+
+    @BeforeEach
+    void setUpApi() {
+        api = new TaskTrackerApi(mockMvc, objectMapper);
+    }
+
+    @Test
+    void longKeyFlagsTheListUntilTheLeaseHolderRebalancesIt() throws Exception {
+        // Another node holds the lease, so neither this call nor the scheduled run touch the list yet
+        JobLeases otherNode = new JobLeases(jobLeaseRepository, transactionTemplate);
+        assertThat(otherNode.tryAcquire(LEASE_NAME, Duration.ofMinutes(5))).isTrue();
+        String taskListId = api.createTaskList("Rebalance");
+        String first = api.createTask(taskListId, "First");
+        String second = api.createTask(taskListId, "Second");
+        String third = api.createTask(taskListId, "Third");
+        try {
+            // Alternately moving two tasks right behind the first one halves the same gap every time
+            for (int i = 0; null == rebalanceRequestedAt(taskListId); i++) {
+                assertThat(i).isLessThan(500);
+                moveAfter(taskListId, i % 2 == 0 ? second : third, first);
+            }
+            List<String> order = titles(taskListId);
+            assertThat(positions(taskListId)).anyMatch(position -> position.length() > 24);
+
+            rebalanceJob.rebalanceRequestedTaskLists();
+            assertThat(rebalanceRequestedAt(taskListId)).isNotNull();
+
+            otherNode.release(LEASE_NAME);
+            rebalanceJob.rebalanceRequestedTaskLists();
+
+            assertThat(rebalanceRequestedAt(taskListId)).isNull();
+            assertThat(positions(taskListId)).containsExactly("i00000001i", "i00000002i", "i00000003i");
+            assertThat(titles(taskListId)).isEqualTo(order);
+        } finally {
+            otherNode.release(LEASE_NAME);
+        }
+    }
+
+    private LocalDateTime rebalanceRequestedAt(String taskListId) {
+        return jdbcTemplate.queryForObject("select rebalance_requested_at from task_lists where id = ?",
+                LocalDateTime.class, UUID.fromString(taskListId));
+    }
+
+    private List<String> positions(String taskListId) {
+        return jdbcTemplate.queryForList("select position from tasks where task_list_id = ? order by position",
+                String.class, UUID.fromString(taskListId));
+    }
+
+    private List<String> titles(String taskListId) throws Exception {
+        JsonNode tasks = api.getJson(tasks(taskListId));
+        List<String> titles = new ArrayList<>();
+        tasks.forEach(task -> titles.add(task.get("title").asText()));
+        return titles;
+    }
+
+    private void moveAfter(String taskListId, String taskId, String afterTaskId) throws Exception {
+        mockMvc.perform(put(tasks(taskListId) + "/" + taskId + "/position").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"afterTaskId\": \"" + afterTaskId + "\"}"))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,99 @@
+package com.devtiro.ordering;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankKeysTest {
+
+    @Test
+    void firstKeySitsInTheMiddleOfTheKeySpace() {
+        assertThat(RankKeys.between(null, null)).isEqualTo("i00000000i");
+    }
+
+    @Test
+    void appendedAndPrependedKeysKeepTheirLength() {
+        String last = RankKeys.between(null, null);
+        String first = last;
+        for (int i = 0; i < 1_000; i++) {
+            String appended = RankKeys.between(last, null);
+            String prepended = RankKeys.between(null, first);
+            assertThat(appended).isGreaterThan(last).hasSize(10);
+            assertThat(prepended).isLessThan(first).hasSize(10);
+            last = appended;
+            first = prepended;
+        }
+    }
+
+    @Test
+    void keysBeyondTheIntegerRangeContinueInTheFraction() {
+        String highest = "zzzzzzzzzi";
+        String lowest = "000000000i";
+
+        assertThat(RankKeys.between(highest, null)).isGreaterThan(highest);
+        assertThat(RankKeys.between(null, lowest)).isLessThan(lowest).doesNotEndWith("0");
+    }
+
+    @Test
+    void randomInsertsStayStrictlyBetweenTheirNeighbours() {
+        Random random = new Random(7);
+        List<String> keys = new ArrayList<>(List.of(RankKeys.between(null, null)));
+
+        for (int i = 0; i < 5_000; i++) {
+            int gap = random.nextInt(keys.size() + 1);
+            String before = gap == 0 ? null : keys.get(gap - 1);
+            String after = gap == keys.size() ? null : keys.get(gap);
+
+            String key = RankKeys.between(before, after);
+
+            if (null != before) {
+                assertThat(key).isGreaterThan(before);
+            }
+            if (null != after) {
+                assertThat(key).isLessThan(after);
+            }
+            assertThat(key).matches("[0-9a-z]*[1-9a-z]");
+            keys.add(gap, key);
+        }
+    }
+
+    @Test
+    void repeatedMovesIntoOneGapGrowTheKeySlowly() {
+        String before = RankKeys.between(null, null);
+        String after = RankKeys.between(before, null);
+
+        String key = null;
+        for (int i = 0; i < 100; i++) {
+            key = RankKeys.between(before, after);
+            assertThat(key).isGreaterThan(before).isLessThan(after);
+            after = key;
+        }
+
+        // About one character per five moves on top of the 10 character keys
+        assertThat(key.length()).isBetween(20, 32);
+    }
+
+    @Test
+    void rebalancedKeysLeaveRoomOnEitherSideAndBetween() {
+        // Shape written by TaskRepository.rebalancePositions: 'i', the row number in 8 digits, 'i'
+        String first = "i00000001i";
+        String second = "i00000002i";
+
+        assertThat(RankKeys.between(first, second)).isGreaterThan(first).isLessThan(second).hasSizeLessThanOrEqualTo(10);
+        assertThat(RankKeys.between(null, first)).isLessThan(first).hasSize(10);
+        assertThat(RankKeys.between(second, null)).isGreaterThan(second).hasSize(10);
+    }
+
+    @Test
+    void boundsOutOfOrderAreRejected() {
+        assertThatThrownBy(() -> RankKeys.between("i00000002i", "i00000001i"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankKeys.between("i00000001i", "i00000001i"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
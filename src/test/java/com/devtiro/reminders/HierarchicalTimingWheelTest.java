@@ -0,0 +1,145 @@
+package com.devtiro.reminders;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    @Test
+    void firesOnTheTickOfItsDeadlineAndNotBefore() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 3, 0);
+        wheel.schedule("a", 25);
+
+        assertThat(wheel.advanceTo(29)).isEmpty();
+        assertThat(wheel.advanceTo(30)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesTimersFromEveryLevelDownToTheirTick() {
+        // Levels cover 4, 16 and 64 ticks, 100 is beyond the top level range
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        List<Integer> deadlines = List.of(1, 3, 4, 6, 15, 16, 17, 21, 63, 64, 65, 100, 257);
+        deadlines.forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        Map<Integer, Long> firedAt = new HashMap<>();
+        for (long now = 1; now <= 300; now++) {
+            for (Integer fired : wheel.advanceTo(now)) {
+                firedAt.put(fired, now);
+            }
+        }
+
+        deadlines.forEach(deadline -> assertThat(firedAt).containsEntry(deadline, (long) deadline));
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void largeStepsFireEverythingPassed() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        List.of(2, 30, 70, 500).forEach(deadline -> wheel.schedule(deadline, deadline));
+
+        assertThat(wheel.advanceTo(69)).containsExactlyInAnyOrder(2, 30);
+        assertThat(wheel.advanceTo(1000)).containsExactlyInAnyOrder(70, 500);
+    }
+
+    @Test
+    void cancelRemovesTimerFromAnyLevel() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        wheel.schedule("level0", 2);
+        wheel.schedule("level2", 50);
+        wheel.schedule("overflow", 500);
+
+        assertThat(wheel.cancel("level2")).isTrue();
+        assertThat(wheel.cancel("level2")).isFalse();
+        assertThat(wheel.cancel("unknown")).isFalse();
+        assertThat(wheel.advanceTo(45)).containsExactly("level0");
+        // Cancelled after it was cascaded to a finer level
+        assertThat(wheel.cancel("overflow")).isTrue();
+
+        assertThat(wheel.advanceTo(1000)).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void rescheduleReplacesThePendingTimer() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        wheel.schedule("earlier", 50);
+        wheel.schedule("earlier", 10);
+        wheel.schedule("later", 10);
+        wheel.schedule("later", 60);
+
+        assertThat(wheel.size()).isEqualTo(2);
+        assertThat(wheel.advanceTo(10)).containsExactly("earlier");
+        assertThat(wheel.advanceTo(59)).isEmpty();
+        assertThat(wheel.advanceTo(60)).containsExactly("later");
+    }
+
+    @Test
+    void rescheduleAfterCascadeMovesTheTimer() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(1, 4, 3, 0);
+        wheel.schedule("moved", 40);
+        // At tick 32 the level 2 bucket holding the timer is cascaded to level 1
+        assertThat(wheel.advanceTo(33)).isEmpty();
+        wheel.schedule("moved", 35);
+
+        assertThat(wheel.advanceTo(34)).isEmpty();
+        assertThat(wheel.advanceTo(35)).containsExactly("moved");
+        assertThat(wheel.advanceTo(100)).isEmpty();
+    }
+
+    @Test
+    void overdueTimerFiresOnNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 4, 3, 1_000);
+        wheel.schedule("overdue", 500);
+
+        assertThat(wheel.contains("overdue")).isTrue();
+        assertThat(wheel.advanceTo(1_000)).containsExactly("overdue");
+        assertThat(wheel.contains("overdue")).isFalse();
+    }
+
+    @Test
+    void matchesAPlainMapUnderRandomOperations() {
+        Random random = new Random(42);
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(1, 8, 3, 0);
+        Map<Integer, Long> expected = new HashMap<>();
+        long now = 0;
+
+        for (int step = 0; step < 20_000; step++) {
+            int key = random.nextInt(300);
+            switch (random.nextInt(4)) {
+                case 0, 1 -> {
+                    long deadline = now - 5 + random.nextInt(2_000);
+                    wheel.schedule(key, deadline);
+                    expected.put(key, deadline);
+                }
+                case 2 -> assertThat(wheel.cancel(key)).isEqualTo(null != expected.remove(key));
+                default -> {
+                    now += random.nextInt(40);
+                    long current = now;
+                    Set<Integer> due = new HashSet<>();
+                    expected.entrySet().removeIf(entry -> entry.getValue() <= current && due.add(entry.getKey()));
+                    List<Integer> fired = new ArrayList<>(wheel.advanceTo(now));
+                    assertThat(fired).hasSize(due.size()).containsExactlyInAnyOrderElementsOf(due);
+                }
+            }
+            assertThat(wheel.size()).isEqualTo(expected.size());
+        }
+    }
+
+    @Test
+    void rejectsUnusableDimensions() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, 4, 3, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(1, 1, 3, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(1, 4, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,253 @@
+package com.devtiro.reminders;
+
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.domain.events.TaskDueDateChangedEvent;
+import com.devtiro.jobs.JobLeases;
+import com.devtiro.repositories.TaskDueDate;
+import com.devtiro.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ReminderSchedulerTest {
+
+    private static final UUID TASK_LIST_ID = UUID.randomUUID();
+    private static final String LEASE_NAME = "reminder-dispatcher";
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final ReminderSink reminderSink = mock(ReminderSink.class);
+    private final JobLeases jobLeases = mock(JobLeases.class);
+    private final ReminderScheduler scheduler = new ReminderScheduler(taskRepository, reminderSink, jobLeases,
+            Duration.ofMillis(10), Duration.ofDays(7), Duration.ofMillis(30), Duration.ofMillis(50), 2);
+
+    @Test
+    void instanceWithoutTheLeaseKeepsNoTimersAndSendsNothing() {
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(false);
+
+        scheduler.tick();
+        scheduler.onDueDateChanged(new TaskDueDateChangedEvent(TASK_LIST_ID, UUID.randomUUID(), LocalDateTime.now().minusSeconds(1)));
+        scheduler.refill();
+        scheduler.pollChanges();
+        scheduler.tick();
+
+        assertThat(scheduler.pendingReminders()).isZero();
+        verifyNoInteractions(taskRepository, reminderSink);
+    }
+
+    @Test
+    void takingTheLeaseLoadsTheWindowFromTwoLeasesBackAndSendsMissedReminders() {
+        TaskDueDate missed = row(UUID.randomUUID(), LocalDateTime.now().minusNanos(20_000_000));
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of(missed));
+        when(taskRepository.findDueDatesByTaskListIdInAndIdIn(TaskStatus.OPEN, Set.of(TASK_LIST_ID), List.of(missed.getId()))).thenReturn(List.of(missed));
+
+        LocalDateTime before = LocalDateTime.now();
+        scheduler.tick();
+        LocalDateTime after = LocalDateTime.now();
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(taskRepository).findDueDatesAfter(eq(TaskStatus.OPEN), from.capture(), eq(new UUID(0L, 0L)), any(), any());
+        // Two lease durations of 30ms before the takeover
+        assertThat(from.getValue()).isBetween(before.minus(Duration.ofMillis(61)), after.minus(Duration.ofMillis(60)));
+        verify(reminderSink).remind(new TaskReminder(missed.getId(), TASK_LIST_ID, "Task", missed.getDueDate()));
+    }
+
+    @Test
+    void takingTheLeaseAfterALongGapResumesFromTheCheckpoint() {
+        LocalDateTime checkpoint = LocalDateTime.now().minusDays(3);
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(jobLeases.checkpoint(LEASE_NAME)).thenReturn(Optional.of(checkpoint));
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of());
+
+        scheduler.tick();
+
+        verify(taskRepository).findDueDatesAfter(eq(TaskStatus.OPEN), eq(checkpoint), any(), any(), any());
+    }
+
+    @Test
+    void dueTimersAreCheckedInChunks() {
+        List<TaskDueDate> due = List.of(
+                row(UUID.randomUUID(), LocalDateTime.now().minusSeconds(3)),
+                row(UUID.randomUUID(), LocalDateTime.now().minusSeconds(2)),
+                row(UUID.randomUUID(), LocalDateTime.now().minusSeconds(1)));
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(due);
+        when(taskRepository.findDueDatesByTaskListIdInAndIdIn(eq(TaskStatus.OPEN), any(), any())).thenAnswer(invocation -> {
+            Collection<UUID> ids = invocation.getArgument(2);
+            return due.stream().filter(task -> ids.contains(task.getId())).toList();
+        });
+
+        scheduler.tick();
+
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.captor();
+        verify(taskRepository, times(2)).findDueDatesByTaskListIdInAndIdIn(eq(TaskStatus.OPEN), any(), ids.capture());
+        assertThat(ids.getAllValues()).extracting(Collection::size).containsExactly(2, 1);
+        verify(reminderSink, times(3)).remind(any());
+    }
+
+    @Test
+    void failedCheckIsRetried() throws InterruptedException {
+        TaskDueDate missed = row(UUID.randomUUID(), LocalDateTime.now().minusSeconds(1));
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of(missed));
+        when(taskRepository.findDueDatesByTaskListIdInAndIdIn(TaskStatus.OPEN, Set.of(TASK_LIST_ID), List.of(missed.getId())))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(missed));
+
+        scheduler.tick();
+        verify(reminderSink, never()).remind(any());
+        assertThat(scheduler.pendingReminders()).isEqualTo(1);
+
+        Thread.sleep(70);
+        scheduler.tick();
+
+        verify(reminderSink).remind(new TaskReminder(missed.getId(), TASK_LIST_ID, "Task", missed.getDueDate()));
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    @Test
+    void failedSendIsRetriedAndHoldsBackTheCheckpoint() throws InterruptedException {
+        LocalDateTime checkpoint = LocalDateTime.now().minusHours(1);
+        TaskDueDate missed = row(UUID.randomUUID(), LocalDateTime.now().minusMinutes(1));
+        TaskReminder reminder = new TaskReminder(missed.getId(), TASK_LIST_ID, "Task", missed.getDueDate());
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(jobLeases.checkpoint(LEASE_NAME)).thenReturn(Optional.of(checkpoint));
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of(missed));
+        when(taskRepository.findDueDatesByTaskListIdInAndIdIn(TaskStatus.OPEN, Set.of(TASK_LIST_ID), List.of(missed.getId())))
+                .thenReturn(List.of(missed));
+        doThrow(new IllegalStateException("webhook down")).doNothing().when(reminderSink).remind(reminder);
+
+        scheduler.tick();
+        Thread.sleep(20);
+        scheduler.tick();
+
+        ArgumentCaptor<LocalDateTime> checkpoints = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(jobLeases, times(2)).saveCheckpoint(eq(LEASE_NAME), checkpoints.capture());
+        // The reminder due after the previous holder's checkpoint is not sent yet, so the checkpoint stays
+        assertThat(checkpoints.getAllValues()).containsOnly(checkpoint);
+
+        Thread.sleep(50);
+        scheduler.tick();
+
+        verify(reminderSink, times(2)).remind(reminder);
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    @Test
+    void rowReadBeforeAConcurrentChangeDoesNotOverwriteIt() {
+        UUID taskId = UUID.randomUUID();
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenAnswer(invocation -> {
+            // The task is closed and its event delivered while the page is being read
+            scheduler.onDueDateChanged(new TaskDueDateChangedEvent(TASK_LIST_ID, taskId, null));
+            return List.of(row(taskId, LocalDateTime.now().plusHours(1)));
+        });
+
+        scheduler.tick();
+
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    @Test
+    void changeDuringAPollWinsOverTheStaleRow() {
+        UUID taskId = UUID.randomUUID();
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of());
+        scheduler.tick();
+        when(taskRepository.findDueDatesUpdatedSince(eq(TaskStatus.OPEN), any(), any())).thenAnswer(invocation -> {
+            scheduler.onDueDateChanged(new TaskDueDateChangedEvent(TASK_LIST_ID, taskId, null));
+            return List.of(row(taskId, LocalDateTime.now().plusHours(1)));
+        });
+
+        scheduler.pollChanges();
+
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    @Test
+    void pollSchedulesTasksChangedOnOtherInstances() {
+        TaskDueDate remote = row(UUID.randomUUID(), LocalDateTime.now().minusSeconds(1));
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of());
+        when(taskRepository.findDueDatesUpdatedSince(eq(TaskStatus.OPEN), any(), any())).thenReturn(List.of(remote));
+        when(taskRepository.findDueDatesByTaskListIdInAndIdIn(TaskStatus.OPEN, Set.of(TASK_LIST_ID), List.of(remote.getId()))).thenReturn(List.of(remote));
+        scheduler.tick();
+
+        scheduler.pollChanges();
+        scheduler.tick();
+
+        verify(reminderSink).remind(new TaskReminder(remote.getId(), TASK_LIST_ID, "Task", remote.getDueDate()));
+    }
+
+    @Test
+    void eventsOfTheHolderScheduleWithinTheWindowOnly() {
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any())).thenReturn(List.of());
+        scheduler.tick();
+        UUID taskId = UUID.randomUUID();
+
+        scheduler.onDueDateChanged(new TaskDueDateChangedEvent(TASK_LIST_ID, taskId, LocalDateTime.now().plusDays(1)));
+        assertThat(scheduler.pendingReminders()).isEqualTo(1);
+        scheduler.onDueDateChanged(new TaskDueDateChangedEvent(TASK_LIST_ID, taskId, LocalDateTime.now().plusDays(30)));
+        assertThat(scheduler.pendingReminders()).isZero();
+    }
+
+    @Test
+    void losingTheLeaseDropsTheTimers() throws InterruptedException {
+        when(jobLeases.tryAcquire(anyString(), any())).thenReturn(true, false);
+        when(taskRepository.findDueDatesAfter(eq(TaskStatus.OPEN), any(), any(), any(), any()))
+                .thenReturn(List.of(row(UUID.randomUUID(), LocalDateTime.now().plusHours(1))));
+        scheduler.tick();
+        assertThat(scheduler.pendingReminders()).isEqualTo(1);
+
+        Thread.sleep(20);
+        scheduler.tick();
+
+        assertThat(scheduler.pendingReminders()).isZero();
+        verify(reminderSink, never()).remind(any());
+    }
+
+    private static TaskDueDate row(UUID id, LocalDateTime dueDate) {
+        return new TaskDueDate() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public UUID getTaskListId() {
+                return TASK_LIST_ID;
+            }
+
+            @Override
+            public String getTitle() {
+                return "Task";
+            }
+
+            @Override
+            public LocalDateTime getDueDate() {
+                return dueDate;
+            }
+        };
+    }
+}
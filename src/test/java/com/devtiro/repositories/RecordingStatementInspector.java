@@ -0,0 +1,30 @@
+package com.devtiro.repositories;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the SQL Hibernate sends on the current thread, registered through
+ * {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    /**
+     * Returns the statements recorded since the previous call and starts a new recording.
+     */
+    public static List<String> drain() {
+        List<String> statements = List.copyOf(STATEMENTS.get());
+        STATEMENTS.get().clear();
+        return statements;
+    }
+}
@@ -0,0 +1,169 @@
+package com.devtiro.repositories;
+
+import com.devtiro.TaskTrackerApplication;
+import com.devtiro.domain.dto.TaskListField;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Per-list latency of the repository methods on a plain and on a hash partitioned {@code tasks} table of the
+ * same content. Each variant is a schema of the PostgreSQL database given by {@code benchmark.postgres.url},
+ * migrated by the application itself: once without and once with the {@code db/vendor/postgresql}
+ * migrations. The timed calls are the ones behind listing a list, reading one task and the list progress,
+ * each in its own read-only transaction, so the SQL, binding and entity mapping are those of the service.
+ * Run with
+ * {@code mvn -Pbenchmark test -Dtest=TaskPartitioningLatencyTest -Dbenchmark.postgres.url=jdbc:postgresql://...}.
+ */
+@Tag("benchmark")
+class TaskPartitioningLatencyTest {
+
+    private static final String URL = System.getProperty("benchmark.postgres.url");
+    private static final int TASKS = Integer.getInteger("benchmark.tasks", 2_000_000);
+    private static final int TASK_LISTS = Integer.getInteger("benchmark.task-lists", 20_000);
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int QUERIES = 10_000;
+
+    @Test
+    void perListQueriesOnPlainAndPartitionedTable() throws SQLException {
+        assumeTrue(null != URL, "benchmark.postgres.url is not set");
+
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            try {
+                measure("bench_plain", "classpath:db/migration");
+                measure("bench_partitioned", "classpath:db/migration,classpath:db/vendor/{vendor}");
+            } finally {
+                execute(connection, "drop schema if exists bench_plain cascade");
+                execute(connection, "drop schema if exists bench_partitioned cascade");
+            }
+        }
+    }
+
+    private static void measure(String schema, String migrations) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            execute(connection, "drop schema if exists " + schema + " cascade");
+        }
+        try (ConfigurableApplicationContext context = start(schema, migrations)) {
+            load(context.getBean(JdbcTemplate.class), schema);
+
+            TaskRepository taskRepository = context.getBean(TaskRepository.class);
+            TaskListRepository taskListRepository = context.getBean(TaskListRepository.class);
+            TransactionTemplate transactionTemplate = new TransactionTemplate(
+                    context.getBean(TransactionTemplate.class).getTransactionManager());
+            transactionTemplate.setReadOnly(true);
+
+            report(transactionTemplate, schema, "list tasks",
+                    (taskListId, taskId) -> taskRepository.findByTaskListId(taskListId));
+            report(transactionTemplate, schema, "get task",
+                    taskRepository::findByTaskListIdAndId);
+            report(transactionTemplate, schema, "list progress",
+                    (taskListId, taskId) -> taskListRepository.findFieldsById(
+                            taskListId, Set.of(TaskListField.ID, TaskListField.PROGRESS)));
+        }
+    }
+
+    /**
+     * Starts the application without its web server and background jobs against {@code schema}, which
+     * Flyway creates and migrates from {@code migrations}.
+     */
+    private static ConfigurableApplicationContext start(String schema, String migrations) {
+        String url = URL + (URL.contains("?") ? "&" : "?") + "currentSchema=" + schema;
+        return new SpringApplicationBuilder(TaskTrackerApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + url,
+                        "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                        "--spring.flyway.schemas=" + schema,
+                        "--spring.flyway.locations=" + migrations,
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+                        "--spring.jpa.show-sql=false",
+                        "--task-tracker.reminders.enabled=false",
+                        "--task-tracker.purge.interval=1d",
+                        "--task-tracker.archive.interval=1d",
+                        "--task-tracker.recurring.interval=1d",
+                        "--task-tracker.ordering.rebalance-interval=1d",
+                        "--task-tracker.dependencies.poll-interval=1d");
+    }
+
+    /**
+     * Same rows in both schemas, spread evenly over the lists.
+     */
+    private static void load(JdbcTemplate jdbcTemplate, String schema) {
+        long start = System.nanoTime();
+        jdbcTemplate.execute("insert into task_lists (id, title, created, updated, revision) "
+                + "select md5('list' || i)::uuid, 'List ' || i, localtimestamp, localtimestamp, 1 "
+                + "from generate_series(0, " + (TASK_LISTS - 1) + ") i");
+        jdbcTemplate.execute("insert into tasks "
+                + "(id, title, description, due_date, status, priority, task_list_id, position, revision, created, updated) "
+                + "select md5(i::text)::uuid, 'Task ' || i, 'Description ' || i, "
+                + "localtimestamp + (i % 100) * interval '1 day', i % 2, i % 3, md5('list' || (i % " + TASK_LISTS + "))::uuid, "
+                + "'i' || lpad((i / " + TASK_LISTS + ")::text, 8, '0') || 'i', 1, localtimestamp, localtimestamp "
+                + "from generate_series(0, " + (TASKS - 1) + ") i");
+        jdbcTemplate.execute("vacuum analyze task_lists");
+        jdbcTemplate.execute("vacuum analyze tasks");
+        System.out.printf("%s: loaded %d tasks in %d lists in %d s%n",
+                schema, TASKS, TASK_LISTS, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    private static void report(TransactionTemplate transactionTemplate, String schema, String name,
+                               BiConsumer<UUID, UUID> call) {
+        Random random = new Random(42);
+        long[] nanos = new long[QUERIES];
+        for (int query = -WARMUP_QUERIES; query < QUERIES; query++) {
+            int task = random.nextInt(TASKS);
+            UUID taskListId = md5Uuid("list" + (task % TASK_LISTS));
+            UUID taskId = md5Uuid(Integer.toString(task));
+            long start = System.nanoTime();
+            transactionTemplate.executeWithoutResult(status -> call.accept(taskListId, taskId));
+            if (query >= 0) {
+                nanos[query] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("%-17s %-13s p50 %7.1f us  p99 %7.1f us%n", schema, name,
+                nanos[QUERIES / 2] / 1_000.0, nanos[QUERIES * 99 / 100] / 1_000.0);
+    }
+
+    /**
+     * The uuid PostgreSQL's {@code md5(text)::uuid} gives for {@code value}.
+     */
+    private static UUID md5Uuid(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5")
+                    .digest(value.getBytes(StandardCharsets.UTF_8));
+            long high = 0;
+            long low = 0;
+            for (int i = 0; i < 8; i++) {
+                high = (high << 8) | (digest[i] & 0xff);
+                low = (low << 8) | (digest[i + 8] & 0xff);
+            }
+            return new UUID(high, low);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
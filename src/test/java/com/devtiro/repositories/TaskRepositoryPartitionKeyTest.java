@@ -0,0 +1,91 @@
+package com.devtiro.repositories;
+
+import com.devtiro.domain.dto.TaskField;
+import com.devtiro.domain.dto.TaskListField;
+import com.devtiro.domain.entities.TaskStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the SQL of every per-list query: on PostgreSQL only a condition on the task_list_id column of tasks
+ * itself prunes the hash partitions, a condition on the joined task_lists row does not.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.devtiro.repositories.RecordingStatementInspector")
+class TaskRepositoryPartitionKeyTest {
+
+    private static final UUID TASK_LIST_ID = UUID.randomUUID();
+    private static final UUID TASK_ID = UUID.randomUUID();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void clearStatements() {
+        RecordingStatementInspector.drain();
+    }
+
+    @Test
+    void readsFilterOnThePartitionKey() {
+        assertPrunes(() -> taskRepository.findByTaskListId(TASK_LIST_ID));
+        assertPrunes(() -> taskRepository.findByTaskListIdAndId(TASK_LIST_ID, TASK_ID));
+        assertPrunes(() -> taskRepository.findByTaskListIdIn(List.of(TASK_LIST_ID)));
+        assertPrunes(() -> taskRepository.findStatsByTaskListIdIn(List.of(TASK_LIST_ID)));
+        assertPrunes(() -> taskRepository.findRevisionsByTaskListIdAndIdIn(TASK_LIST_ID, List.of(TASK_ID)));
+        assertPrunes(() -> taskRepository.findRevisionsByTaskListIdAndStatus(TASK_LIST_ID, TaskStatus.CLOSED));
+        assertPrunes(() -> taskRepository.findLastPosition(TASK_LIST_ID));
+        assertPrunes(() -> taskRepository.findPosition(TASK_LIST_ID, TASK_ID));
+        assertPrunes(() -> taskRepository.findPositionsAfter(TASK_LIST_ID, "i", TASK_ID, Limit.of(1)));
+        assertPrunes(() -> taskRepository.findPositionsBefore(TASK_LIST_ID, "i", TASK_ID, Limit.of(1)));
+        assertPrunes(() -> taskRepository.findRevisionsForPurge(TASK_LIST_ID, Limit.of(1)));
+        assertPrunes(() -> taskRepository.findFieldsByTaskListId(TASK_LIST_ID, Set.of(TaskField.ID, TaskField.TITLE)));
+        assertPrunes(() -> taskRepository.findFieldsByTaskListIdAndId(TASK_LIST_ID, TASK_ID, Set.of(TaskField.ID)));
+        assertPrunes(() -> taskRepository.findDueDatesByTaskListIdInAndIdIn(
+                TaskStatus.OPEN, List.of(TASK_LIST_ID), List.of(TASK_ID)));
+    }
+
+    @Test
+    void taskListCountsJoinOnlyTheListsPartition() {
+        transactionTemplate.executeWithoutResult(status ->
+                taskListRepository.findFieldsById(TASK_LIST_ID, Set.of(TaskListField.ID, TaskListField.COUNT)));
+
+        List<String> statements = RecordingStatementInspector.drain();
+        assertThat(statements).hasSize(1);
+        assertThat(statements.getFirst().replaceAll("\\s+", "")).containsPattern("jointaskst\\d+_0on.*t\\d+_0\\.task_list_id=\\?");
+    }
+
+    @Test
+    void writesFilterOnThePartitionKey() {
+        assertPrunes(() -> taskRepository.updatePosition(TASK_LIST_ID, TASK_ID, "i"));
+        assertPrunes(() -> taskRepository.deleteByTaskListIdAndId(TASK_LIST_ID, TASK_ID));
+        assertPrunes(() -> taskRepository.deleteByTaskListIdAndIdIn(TASK_LIST_ID, List.of(TASK_ID)));
+        assertPrunes(() -> taskRepository.purgeByTaskListIdAndIdIn(TASK_LIST_ID, List.of(TASK_ID)));
+        assertPrunes(() -> taskRepository.deleteByTaskListIdInAndIdIn(List.of(TASK_LIST_ID), List.of(TASK_ID)));
+    }
+
+    private void assertPrunes(Runnable query) {
+        transactionTemplate.executeWithoutResult(status -> query.run());
+        List<String> statements = RecordingStatementInspector.drain();
+        assertThat(statements).hasSize(1);
+        // The deletes check the list in an exists subquery, that lookup by task_lists.id is intended
+        String sql = statements.getFirst().replaceAll("\\s+", "").replaceAll("exists\\(.*\\)", "");
+        assertThat(sql).as(statements.getFirst()).containsPattern("t\\d+_0\\.task_list_id(=\\?|in\\()");
+        assertThat(sql).as(statements.getFirst()).doesNotContainPattern("tl\\d+_0\\.id(=\\?|in\\()");
+    }
+}
@@ -0,0 +1,66 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.domain.entities.ChangeType;
+import com.devtiro.domain.entities.HistoryEntry;
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskListService;
+import com.devtiro.services.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class HistoryServiceImplTest {
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void updateOfSeveralFieldsIsOneEntry() throws Exception {
+        UUID taskListId = taskListService.createTaskLists(new TaskList(null, "History", null, null, null, null)).getId();
+        UUID taskId = taskService.createTask(taskListId,
+                new Task(null, "Draft", null, null, null, TaskPriority.MEDIUM, null, null, null)).getId();
+        LocalDateTime created = LocalDateTime.now();
+
+        taskService.updateTask(taskListId, taskId,
+                new Task(taskId, "Final", "Reviewed", null, TaskStatus.CLOSED, TaskPriority.MEDIUM, null, null, null));
+
+        List<HistoryEntry> history = historyService.getTaskHistory(taskListId, taskId);
+        assertThat(history).extracting(HistoryEntry::getRevision, HistoryEntry::getChangeType)
+                .containsExactly(tuple(1L, ChangeType.CREATED), tuple(2L, ChangeType.UPDATED));
+        assertThat(objectMapper.readValue(history.get(1).getChanges(), Map.class)).isEqualTo(Map.of(
+                "title", List.of("Draft", "Final"),
+                "description", Arrays.asList(null, "Reviewed"),
+                "status", List.of("OPEN", "CLOSED")));
+
+        assertThat(historyService.getTaskAsOf(taskListId, taskId, created)).get()
+                .extracting(Task::getTitle, Task::getDescription, Task::getStatus)
+                .containsExactly("Draft", null, TaskStatus.OPEN);
+        assertThat(historyService.getTaskAsOf(taskListId, taskId, LocalDateTime.now())).get()
+                .extracting(Task::getTitle, Task::getDescription, Task::getStatus)
+                .containsExactly("Final", "Reviewed", TaskStatus.CLOSED);
+    }
+}
@@ -0,0 +1,134 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskList;
+import com.devtiro.domain.entities.TaskPriority;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.repositories.ArchivedTaskRepository;
+import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskDependencyService;
+import com.devtiro.services.TaskListService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Time per task update with and without the history writes, on the configured database, for updates of
+ * one field and of all fields. Rounds of all variants alternate so drift affects them alike. Run with
+ * {@code mvn -Pbenchmark test}, against PostgreSQL by also passing the {@code spring.datasource.*} and
+ * {@code spring.jpa.properties.hibernate.dialect} properties.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+class HistoryWriteOverheadTest {
+
+    private static final int TASKS = 100;
+    private static final int UPDATES_PER_ROUND = 200;
+    private static final int WARMUP_ROUNDS = 15;
+    private static final int ROUNDS = 35;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private TaskListService taskListService;
+
+    @Autowired
+    private TaskDependencyService taskDependencyService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void updateTaskWithAndWithoutHistory() {
+        TaskServiceImpl withHistory = service(historyService);
+        TaskServiceImpl withoutHistory = service(mock(HistoryService.class, withSettings().stubOnly()));
+
+        UUID taskListId = taskListService.createTaskLists(new TaskList(null, "Benchmark", null, null, null, null)).getId();
+        List<UUID> taskIds = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Task task = new Task(null, "Task " + i, null, null, null, TaskPriority.MEDIUM, null, null, null);
+            taskIds.add(transactionTemplate.execute(status -> withHistory.createTask(taskListId, task)).getId());
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            updates(withHistory, taskListId, taskIds, round, false);
+            updates(withoutHistory, taskListId, taskIds, round, false);
+            updates(withHistory, taskListId, taskIds, round, true);
+            updates(withoutHistory, taskListId, taskIds, round, true);
+        }
+        double[][] micros = new double[4][ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            micros[0][round] = updates(withHistory, taskListId, taskIds, WARMUP_ROUNDS + round, false);
+            micros[1][round] = updates(withoutHistory, taskListId, taskIds, WARMUP_ROUNDS + round, false);
+            micros[2][round] = updates(withHistory, taskListId, taskIds, WARMUP_ROUNDS + round, true);
+            micros[3][round] = updates(withoutHistory, taskListId, taskIds, WARMUP_ROUNDS + round, true);
+        }
+
+        report("title only", median(micros[0]), median(micros[1]));
+        report("all fields", median(micros[2]), median(micros[3]));
+    }
+
+    private static void report(String name, double with, double without) {
+        System.out.printf("updateTask %s: %.1f us/op with history, %.1f us/op without, overhead %.0f%%%n",
+                name, with, without, (with / without - 1) * 100);
+    }
+
+    /**
+     * Updates every task in turn, one transaction each, and returns the mean time per update. Either only
+     * the title changes or all five recorded fields do.
+     */
+    private double updates(TaskServiceImpl service, UUID taskListId, List<UUID> taskIds, int round,
+                           boolean allFields) {
+        boolean odd = round % 2 == 1;
+        long start = System.nanoTime();
+        for (int i = 0; i < UPDATES_PER_ROUND; i++) {
+            UUID taskId = taskIds.get(i % taskIds.size());
+            String title = "Round " + round + " update " + i;
+            Task update = allFields
+                    ? new Task(taskId, title, "Description " + title, LocalDateTime.of(2026, 1, 1, 0, 0).plusDays(round),
+                            odd ? TaskStatus.CLOSED : TaskStatus.OPEN, odd ? TaskPriority.HIGH : TaskPriority.LOW,
+                            null, null, null)
+                    : new Task(taskId, title, null, null, TaskStatus.OPEN, TaskPriority.MEDIUM, null, null, null);
+            transactionTemplate.executeWithoutResult(status -> service.updateTask(taskListId, taskId, update));
+        }
+        return (System.nanoTime() - start) / 1_000.0 / UPDATES_PER_ROUND;
+    }
+
+    private TaskServiceImpl service(HistoryService history) {
+        return new TaskServiceImpl(taskRepository, taskListRepository, archivedTaskRepository, history,
+                taskDependencyService, eventPublisher, 1000, 500, 24);
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
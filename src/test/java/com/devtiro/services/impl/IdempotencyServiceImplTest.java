@@ -0,0 +1,174 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.exception.ConflictException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyServiceImplTest {
+
+    private static final Duration TTL = Duration.ofHours(1);
+    private static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheActionOnce() throws Exception {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 100, WAIT_TIMEOUT);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        CountDownLatch started = new CountDownLatch(callers);
+
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                started.countDown();
+                return service.execute("scope", "key", "request", () -> {
+                    runs.incrementAndGet();
+                    await(release);
+                    return "result";
+                });
+            }));
+        }
+        started.await();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(service.execute("scope", "key", "request", () -> "again")).isEqualTo("result");
+    }
+
+    @Test
+    void errorIsPassedToWaitingDuplicatesAndNotRemembered() throws Exception {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 100, WAIT_TIMEOUT);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> service.execute("scope", "key", "request", () -> {
+            running.countDown();
+            await(release);
+            throw new OutOfMemoryError("simulated");
+        }));
+        running.await();
+        AtomicReference<Thread> waiter = new AtomicReference<>();
+        Future<String> duplicate = executor.submit(() -> {
+            waiter.set(Thread.currentThread());
+            return service.execute("scope", "key", "request", () -> "duplicate");
+        });
+        while (null == waiter.get() || Thread.State.TIMED_WAITING != waiter.get().getState()) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThatThrownBy(() -> duplicate.get(10, TimeUnit.SECONDS)).hasCauseInstanceOf(OutOfMemoryError.class);
+        assertThat(service.execute("scope", "key", "request", () -> "retried")).isEqualTo("retried");
+    }
+
+    @Test
+    void duplicateStopsWaitingAfterTimeout() throws Exception {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 100, Duration.ofMillis(50));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> service.execute("scope", "key", "request", () -> {
+            running.countDown();
+            await(release);
+            return "result";
+        }));
+        running.await();
+
+        assertThatThrownBy(() -> service.execute("scope", "key", "request", () -> "duplicate"))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("still in progress");
+        release.countDown();
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("result");
+    }
+
+    @Test
+    void differentRequestWithSameKeyIsRejected() {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 100, WAIT_TIMEOUT);
+        service.execute("scope", "key", "request", () -> "result");
+
+        assertThatThrownBy(() -> service.execute("scope", "key", "other request", () -> "result"))
+                .isInstanceOf(ConflictException.class);
+        assertThat(service.execute("other scope", "key", "other request", () -> "other")).isEqualTo("other");
+    }
+
+    @Test
+    void evictionSkipsCallsInFlight() throws Exception {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 2, WAIT_TIMEOUT);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger inFlightRuns = new AtomicInteger();
+
+        Future<String> inFlight = executor.submit(() -> service.execute("scope", "in-flight", "request", () -> {
+            inFlightRuns.incrementAndGet();
+            running.countDown();
+            await(release);
+            return "slow";
+        }));
+        running.await();
+        for (String key : List.of("a", "b", "c")) {
+            service.execute("scope", key, "request", () -> key);
+        }
+
+        // The completed entries behind the running call were evicted, the newest one is kept
+        assertThat(service.execute("scope", "c", "request", () -> "c again")).isEqualTo("c");
+        assertThat(service.execute("scope", "a", "request", () -> "a again")).isEqualTo("a again");
+
+        Future<String> duplicate = executor.submit(() -> service.execute("scope", "in-flight", "request", () -> {
+            inFlightRuns.incrementAndGet();
+            return "duplicate";
+        }));
+        release.countDown();
+        assertThat(inFlight.get(10, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(duplicate.get(10, TimeUnit.SECONDS)).isEqualTo("slow");
+        assertThat(inFlightRuns).hasValue(1);
+    }
+
+    @Test
+    void staleQueueSlotDoesNotEvictNewerEntryForSameKey() {
+        IdempotencyServiceImpl service = new IdempotencyServiceImpl(TTL, 2, WAIT_TIMEOUT);
+        assertThatThrownBy(() -> service.execute("scope", "key", "request", () -> {
+            throw new IllegalStateException("failed");
+        })).isInstanceOf(IllegalStateException.class);
+        service.execute("scope", "older", "request", () -> "older");
+        service.execute("scope", "key", "request", () -> "stored");
+
+        service.execute("scope", "newest", "request", () -> "newest");
+
+        assertThat(service.execute("scope", "key", "request", () -> "ran again")).isEqualTo("stored");
+        assertThat(service.execute("scope", "older", "request", () -> "older again")).isEqualTo("older again");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
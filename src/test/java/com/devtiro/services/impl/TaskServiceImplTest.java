@@ -0,0 +1,146 @@
+package com.devtiro.services.impl;
+
+import com.devtiro.domain.entities.Task;
+import com.devtiro.domain.entities.TaskStatus;
+import com.devtiro.exception.ValidationException;
+import com.devtiro.repositories.ArchivedTaskRepository;
+import com.devtiro.repositories.TaskListRepository;
+import com.devtiro.repositories.TaskRepository;
+import com.devtiro.repositories.TaskRevision;
+import com.devtiro.services.HistoryService;
+import com.devtiro.services.TaskDependencyService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TaskServiceImplTest {
+
+    private final TaskRepository taskRepository = mock(TaskRepository.class);
+    private final HistoryService historyService = mock(HistoryService.class);
+    private final TaskDependencyService taskDependencyService = mock(TaskDependencyService.class);
+    private final TaskServiceImpl taskService = new TaskServiceImpl(taskRepository, mock(TaskListRepository.class),
+            mock(ArchivedTaskRepository.class), historyService, taskDependencyService,
+            mock(ApplicationEventPublisher.class), 5, 2, 24);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getTasksQueriesDistinctIdsInChunks() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        Task task = new Task(second, "Found", null, null, null, null, null, null, null);
+        when(taskRepository.findByIdIn(any())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(0)).contains(second) ? List.of(task) : List.of());
+
+        assertThat(taskService.getTasks(List.of(first, second, first, third, second))).containsOnlyKeys(second);
+
+        ArgumentCaptor<Collection<UUID>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository, times(2)).findByIdIn(chunks.capture());
+        assertThat(new ArrayList<>(chunks.getAllValues())).containsExactly(List.of(first, second), List.of(third));
+    }
+
+    @Test
+    void getTasksRejectsTooManyIdsWithoutQuerying() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(6).toList();
+
+        assertThatThrownBy(() -> taskService.getTasks(ids))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("5");
+        ValidationException first = catchThrowableOfType(ValidationException.class, () -> taskService.getTasks(ids));
+        assertThat(catchThrowableOfType(ValidationException.class, () -> taskService.getTasks(ids))).isSameAs(first);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void nullIdsAreRejectedWithoutQuerying() {
+        List<UUID> ids = Arrays.asList(UUID.randomUUID(), null);
+
+        ValidationException rejected = catchThrowableOfType(ValidationException.class, () -> taskService.getTasks(ids));
+        assertThat(rejected).hasMessage("Task IDs must not be null");
+        assertThat(catchThrowableOfType(ValidationException.class,
+                () -> taskService.deleteTasks(UUID.randomUUID(), ids))).isSameAs(rejected);
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteTasksByStatusDeletesTheTasksItReadInChunks() {
+        UUID taskListId = UUID.randomUUID();
+        List<TaskRevision> revisions = Stream.generate(() -> revision(UUID.randomUUID(), 3)).limit(3).toList();
+        when(taskRepository.findRevisionsByTaskListIdAndStatus(taskListId, TaskStatus.CLOSED)).thenReturn(revisions);
+        when(taskRepository.deleteByTaskListIdAndIdIn(any(), any())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(1)).size());
+
+        assertThat(taskService.deleteTasksByStatus(taskListId, TaskStatus.CLOSED)).isEqualTo(3);
+
+        ArgumentCaptor<Collection<UUID>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository, times(2)).deleteByTaskListIdAndIdIn(any(), chunks.capture());
+        List<UUID> ids = revisions.stream().map(TaskRevision::getId).toList();
+        assertThat(new ArrayList<>(chunks.getAllValues())).containsExactly(ids.subList(0, 2), ids.subList(2, 3));
+        verify(taskDependencyService).removeTasks(ids);
+        verify(historyService).recordTasksDeleted(taskListId, revisions);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deleteTasksDeletesDistinctIdsInChunks() {
+        UUID taskListId = UUID.randomUUID();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        when(taskRepository.findRevisionsByTaskListIdAndIdIn(any(), any())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(1)).stream().map(id -> revision(id, 1)).toList());
+        when(taskRepository.deleteByTaskListIdAndIdIn(any(), any())).thenAnswer(invocation ->
+                ((Collection<UUID>) invocation.getArgument(1)).size());
+
+        assertThat(taskService.deleteTasks(taskListId, List.of(first, second, first, third))).isEqualTo(3);
+
+        ArgumentCaptor<Collection<UUID>> chunks = ArgumentCaptor.forClass(Collection.class);
+        verify(taskRepository, times(2)).deleteByTaskListIdAndIdIn(any(), chunks.capture());
+        assertThat(new ArrayList<>(chunks.getAllValues())).containsExactly(List.of(first, second), List.of(third));
+        verify(taskDependencyService).removeTasks(List.of(first, second, third));
+    }
+
+    @Test
+    void deleteTasksRejectsTooManyIdsWithoutQuerying() {
+        List<UUID> ids = Stream.generate(UUID::randomUUID).limit(6).toList();
+
+        ValidationException first = catchThrowableOfType(ValidationException.class,
+                () -> taskService.deleteTasks(UUID.randomUUID(), ids));
+        assertThat(first).hasMessageContaining("5");
+        assertThat(catchThrowableOfType(ValidationException.class,
+                () -> taskService.deleteTasks(UUID.randomUUID(), ids))).isSameAs(first);
+        verifyNoInteractions(taskRepository);
+    }
+
+    private static TaskRevision revision(UUID id, long revision) {
+        return new TaskRevision() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public long getRevision() {
+                return revision;
+            }
+        };
+    }
+}